@@ -0,0 +1,16 @@
+
+CREATE TABLE IF NOT EXISTS classroom_student (
+    id UUID PRIMARY KEY,
+    classroom_id UUID NOT NULL REFERENCES classrooms (classroom_id),
+    student_id UUID NOT NULL,
+    added_at TIMESTAMP NOT NULL,
+    CONSTRAINT uniq_classroom_student UNIQUE (classroom_id, student_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_classroom_student_student ON classroom_student (student_id);
+
+-- Fails if a student already has two first attempts at one assessment, list them with:
+-- SELECT student_id, assessment_id, attempt_no FROM student_assessment
+-- GROUP BY student_id, assessment_id, attempt_no HAVING COUNT(*) > 1;
+ALTER TABLE student_assessment
+ADD CONSTRAINT uniq_student_assessment_attempt UNIQUE (student_id, assessment_id, attempt_no);
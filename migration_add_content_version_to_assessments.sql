@@ -0,0 +1,3 @@
+
+ALTER TABLE assessments 
+ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
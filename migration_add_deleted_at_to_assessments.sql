@@ -0,0 +1,6 @@
+
+ALTER TABLE assessments 
+ADD COLUMN deleted_at TIMESTAMPTZ;
+
+-- Only deleted rows are indexed, the purge job is the only reader
+CREATE INDEX idx_assessments_deleted_at ON assessments (deleted_at) WHERE deleted_at IS NOT NULL;
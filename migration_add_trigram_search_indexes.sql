@@ -0,0 +1,10 @@
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Substring search (LOWER(name) LIKE '%term%')
+CREATE INDEX IF NOT EXISTS idx_assessments_name_trgm ON assessments USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_classrooms_class_name_trgm ON classrooms USING gin (lower(class_name) gin_trgm_ops);
+
+-- Typeahead (LOWER(name) LIKE 'term%')
+CREATE INDEX IF NOT EXISTS idx_assessments_created_by_name_prefix ON assessments (created_by, lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_classrooms_teacher_class_name_prefix ON classrooms (teacher_id, lower(class_name) text_pattern_ops);
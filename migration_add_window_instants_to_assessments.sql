@@ -0,0 +1,11 @@
+
+ALTER TABLE assessments 
+ADD COLUMN starts_at TIMESTAMPTZ,
+ADD COLUMN ends_at TIMESTAMPTZ;
+
+UPDATE assessments
+SET starts_at = (assessment_date + start_time) AT TIME ZONE 'Asia/Phnom_Penh',
+    ends_at = (assessment_date + end_time) AT TIME ZONE 'Asia/Phnom_Penh'
+WHERE assessment_date IS NOT NULL AND start_time IS NOT NULL AND end_time IS NOT NULL;
+
+CREATE INDEX idx_assessments_window ON assessments (ends_at, starts_at);
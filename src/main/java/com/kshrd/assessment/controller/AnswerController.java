@@ -6,21 +6,27 @@ import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
 import com.kshrd.assessment.dto.answer.AnswerRequest;
 import com.kshrd.assessment.dto.answer.AnswerResponse;
+import com.kshrd.assessment.dto.answer.AnswerSearchCriteria;
 import com.kshrd.assessment.dto.answer.SubmitAllAnswersRequest;
 import com.kshrd.assessment.dto.answer.SubmitSingleAnswerRequest;
 import com.kshrd.assessment.dto.response.ApiResponse;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
+import com.kshrd.assessment.service.AnswerExportService;
 import com.kshrd.assessment.service.IAnswerService;
+import com.kshrd.assessment.utils.enums.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -37,6 +43,7 @@ import java.util.UUID;
 public class AnswerController {
 
     private final IAnswerService answerService;
+    private final AnswerExportService answerExportService;
 
     @PostMapping
     @PreAuthorize("hasRole('student')")
@@ -98,16 +105,34 @@ public class AnswerController {
 
     @GetMapping("/assessment/{assessmentId}/all")
     @PreAuthorize("hasRole('teacher') or hasRole('admin')")
-    @Operation(summary = "Get all answers for assessment", description = "Retrieves all answers for a specific assessment with pagination support. Only accessible by teachers and admins")
+    @Operation(summary = "Get all answers for assessment", description = "Retrieves the answers of a specific assessment ordered by answer ID, optionally filtered by question, student or section. Pass the previous page's nextCursor as 'after' for keyset paging; keyset pages are only counted with includeTotal=true. Only accessible by teachers and admins")
     public ResponseEntity<ApiResponse<PageResponse<AnswerResponse>>> getAllAnswersByAssessment(
             @PathVariable UUID assessmentId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
-        PageResponse<AnswerResponse> responses = answerService.getAnswersByAssessment(assessmentId, pageRequest);
+            @RequestParam(required = false) UUID questionId,
+            @RequestParam(required = false) UUID studentId,
+            @RequestParam(required = false) UUID sectionId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, null, "ASC", null, null, includeTotal);
+        AnswerSearchCriteria criteria = new AnswerSearchCriteria(questionId, studentId, sectionId, after);
+        PageResponse<AnswerResponse> responses = answerService.getAnswersByAssessment(assessmentId, criteria, pageRequest);
         return ResponseUtil.ok(responses, "Answers retrieved successfully");
     }
+
+    @GetMapping("/assessment/{assessmentId}/export")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Export all answers for assessment", description = "Streams every answer of a specific assessment as NDJSON (default) or CSV for offline marking and archiving. Only accessible by teachers and admins")
+    public ResponseEntity<StreamingResponseBody> exportAnswersByAssessment(
+            @PathVariable UUID assessmentId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        StreamingResponseBody body = answerExportService.exportAnswers(assessmentId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"answers-" + assessmentId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
 }
@@ -5,14 +5,19 @@ import com.kshrd.assessment.aop.annotation.LogError;
 import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
 import com.kshrd.assessment.dto.classroom.AssignAssessmentToClassroomRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsResponse;
 import com.kshrd.assessment.dto.classroom.ClassroomRequest;
 import com.kshrd.assessment.dto.classroom.ClassroomResponse;
+import com.kshrd.assessment.dto.classroom.ClassroomStudentsRequest;
 import com.kshrd.assessment.dto.response.ApiResponse;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
 import com.kshrd.assessment.service.IClassroomService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -79,12 +84,24 @@ public class ClassroomController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @Parameter(description = PageRequest.CURSOR_DESCRIPTION) String cursor,
+            @RequestParam(defaultValue = "false") @Parameter(description = PageRequest.INCLUDE_TOTAL_DESCRIPTION) boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search, cursor, includeTotal);
         PageResponse<ClassroomResponse> response = classroomService.getMyClassrooms(pageRequest);
         return ResponseUtil.ok(response, "Classrooms retrieved successfully");
     }
 
+    @GetMapping("/my-classrooms/suggest")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Suggest my classrooms", description = "Typeahead over the current teacher's classrooms: names starting with the term, closest matches first")
+    public ResponseEntity<ApiResponse<List<SearchSuggestion>>> suggestMyClassrooms(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SearchSuggestion> suggestions = classroomService.suggestMyClassrooms(q, limit);
+        return ResponseUtil.ok(suggestions, "Classroom suggestions retrieved successfully");
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('teacher') or hasRole('admin')")
     @Operation(summary = "Get all classrooms", description = "Retrieves all classrooms in the system with pagination and search support")
@@ -93,15 +110,17 @@ public class ClassroomController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @Parameter(description = PageRequest.CURSOR_DESCRIPTION) String cursor,
+            @RequestParam(defaultValue = "false") @Parameter(description = PageRequest.INCLUDE_TOTAL_DESCRIPTION) boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search, cursor, includeTotal);
         PageResponse<ClassroomResponse> response = classroomService.getAllClassrooms(pageRequest);
         return ResponseUtil.ok(response, "Classrooms retrieved successfully");
     }
 
     @PostMapping("/{classroomId}/assign-assessments")
     @PreAuthorize("hasRole('teacher') or hasRole('admin')")
-    @Operation(summary = "Assign assessments to classroom", description = "Assigns one or more assessments to a classroom")
+    @Operation(summary = "Assign assessments to classroom", description = "Assigns one or more assessments to a classroom and to every student on its roster. Existing links and assignments are skipped")
     public ResponseEntity<ApiResponse<ClassroomResponse>> assignAssessmentsToClassroom(
             @PathVariable UUID classroomId,
             @RequestBody @Valid AssignAssessmentToClassroomRequest request) {
@@ -119,6 +138,43 @@ public class ClassroomController {
         return ResponseUtil.ok(response, "Assessments removed from classroom successfully");
     }
 
+    @GetMapping("/{classroomId}/students")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Get classroom roster", description = "Retrieves the IDs of the students enrolled in a classroom")
+    public ResponseEntity<ApiResponse<List<UUID>>> getClassroomStudents(@PathVariable UUID classroomId) {
+        List<UUID> response = classroomService.getClassroomStudents(classroomId);
+        return ResponseUtil.ok(response, "Classroom students retrieved successfully");
+    }
+
+    @PostMapping("/{classroomId}/students")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Add students to classroom", description = "Enrolls students in a classroom, students already enrolled are skipped. New students are assigned every assessment already linked to the classroom. Returns the updated roster")
+    public ResponseEntity<ApiResponse<List<UUID>>> addStudentsToClassroom(
+            @PathVariable UUID classroomId,
+            @RequestBody @Valid ClassroomStudentsRequest request) {
+        List<UUID> response = classroomService.addStudentsToClassroom(classroomId, request);
+        return ResponseUtil.ok(response, "Students added to classroom successfully");
+    }
+
+    @PostMapping("/{classroomId}/remove-students")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Remove students from classroom", description = "Removes students from a classroom roster. Their existing assessment attempts are kept. Returns the updated roster")
+    public ResponseEntity<ApiResponse<List<UUID>>> removeStudentsFromClassroom(
+            @PathVariable UUID classroomId,
+            @RequestBody @Valid ClassroomStudentsRequest request) {
+        List<UUID> response = classroomService.removeStudentsFromClassroom(classroomId, request);
+        return ResponseUtil.ok(response, "Students removed from classroom successfully");
+    }
+
+    @PostMapping("/assign-assessments")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Assign assessments to classrooms", description = "Links every given classroom to every given assessment and assigns each assessment to every student on those rosters in one request. Existing links and assignments are skipped")
+    public ResponseEntity<ApiResponse<AssignClassroomsResponse>> assignAssessmentsToClassrooms(
+            @RequestBody @Valid AssignClassroomsRequest request) {
+        AssignClassroomsResponse response = classroomService.assignAssessmentsToClassrooms(request);
+        return ResponseUtil.ok(response, "Assessments assigned to classrooms successfully");
+    }
+
     @GetMapping("/subject/{subjectId}")
     @PreAuthorize("hasRole('teacher') or hasRole('admin') or hasRole('student')")
     @Operation(summary = "Get classrooms by subject", description = "Retrieves all classrooms for a specific subject")
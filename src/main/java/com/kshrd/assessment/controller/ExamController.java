@@ -1,5 +1,7 @@
 package com.kshrd.assessment.controller;
 
+import com.kshrd.assessment.dto.exam.CloneExamsRequest;
+import com.kshrd.assessment.dto.exam.ClonedExamResponse;
 import com.kshrd.assessment.dto.exam.ExamRequest;
 import com.kshrd.assessment.dto.exam.ExamResponse;
 import com.kshrd.assessment.dto.exam.ExamScheduleRequest;
@@ -8,17 +10,24 @@ import com.kshrd.assessment.dto.response.ApiResponse;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
+import com.kshrd.assessment.service.ExamSnapshotCache.ExamSnapshot;
 import com.kshrd.assessment.service.IExamService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,8 +50,11 @@ public class ExamController {
 
     @GetMapping("/{examId}")
     @PreAuthorize("hasRole('student') or hasRole('teacher') or hasRole('admin')")
-    @Operation(summary = "Get exam by ID", description = "Retrieves a specific exam/assessment by its unique identifier")
-    public ResponseEntity<ApiResponse<ExamResponse>> getExam(@PathVariable UUID examId) {
+    @Operation(summary = "Get exam by ID", description = "Retrieves a specific exam/assessment by its unique identifier. Supports If-None-Match with the returned ETag")
+    public ResponseEntity<ApiResponse<ExamResponse>> getExam(@PathVariable UUID examId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ResponseUtil.contentETag(examService.getExamContentVersion(examId)))) {
+            return null;
+        }
         Optional<ExamResponse> response = examService.getExamById(examId);
         return response.map(ResponseUtil::ok)
                 .orElse(ResponseUtil.notFound("Exam not found"));
@@ -57,12 +69,24 @@ public class ExamController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @Parameter(description = PageRequest.CURSOR_DESCRIPTION) String cursor,
+            @RequestParam(defaultValue = "false") @Parameter(description = PageRequest.INCLUDE_TOTAL_DESCRIPTION) boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search, cursor, includeTotal);
         PageResponse<ExamResponse> response = examService.getMyExams(pageRequest);
         return ResponseUtil.ok(response, "Exams retrieved successfully");
     }
 
+    @GetMapping("/my-exams/suggest")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Suggest my exams", description = "Typeahead over the current user's exams: names starting with the term, closest matches first")
+    public ResponseEntity<ApiResponse<List<SearchSuggestion>>> suggestMyExams(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SearchSuggestion> suggestions = examService.suggestMyExams(q, limit);
+        return ResponseUtil.ok(suggestions, "Exam suggestions retrieved successfully");
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('student') or hasRole('teacher') or hasRole('admin')")
     @Operation(summary = "Get all exams", description = "Retrieves a list of all exams/assessments in the system with pagination and search support")
@@ -71,8 +95,10 @@ public class ExamController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @Parameter(description = PageRequest.CURSOR_DESCRIPTION) String cursor,
+            @RequestParam(defaultValue = "false") @Parameter(description = PageRequest.INCLUDE_TOTAL_DESCRIPTION) boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search, cursor, includeTotal);
         PageResponse<ExamResponse> response = examService.getAllExams(pageRequest);
         return ResponseUtil.ok(response, "Exams retrieved successfully");
     }
@@ -128,6 +154,14 @@ public class ExamController {
         return ResponseUtil.created(response, "Exam cloned successfully");
     }
 
+    @PostMapping("/clone")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Clone exams", description = "Copies many exams with all their sections and questions in one request, e.g. for a new semester. The optional name suffix replaces '(Copy)'. Returns the new exam ID of each source exam, in request order")
+    public ResponseEntity<ApiResponse<List<ClonedExamResponse>>> cloneExams(@RequestBody @Valid CloneExamsRequest request) {
+        List<ClonedExamResponse> response = examService.cloneExams(request);
+        return ResponseUtil.created(response, "Exams cloned successfully");
+    }
+
     @DeleteMapping("/{examId}")
     @PreAuthorize("hasRole('teacher') or hasRole('admin')")
     @Operation(summary = "Delete exam", description = "Deletes an exam/assessment and all its associated sections and questions")
@@ -139,8 +173,50 @@ public class ExamController {
     @GetMapping("/{examId}/student-view")
     @PreAuthorize("hasRole('student')")
     @Operation(summary = "Get active exam details for student", description = "Retrieves exam details with questions for an active exam assigned to the student. Returns questions only, no student answers.")
-    public ResponseEntity<ApiResponse<ExamResponse>> getActiveExamForStudent(@PathVariable UUID examId) {
-        ExamResponse response = examService.getActiveExamForStudent(examId);
-        return ResponseUtil.ok(response, "Active exam details retrieved successfully");
+    public ResponseEntity<byte[]> getActiveExamForStudent(
+            @PathVariable UUID examId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExamSnapshot snapshot = examService.getActiveExamSnapshotForStudent(examId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    // gzip (or x-gzip) with a non-zero q-value, or a non-zero wildcard when gzip itself is not listed
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
     }
 }
@@ -0,0 +1,101 @@
+package com.kshrd.assessment.controller;
+
+import com.kshrd.assessment.dto.monitoring.AdmissionStats;
+import com.kshrd.assessment.dto.monitoring.CacheStats;
+import com.kshrd.assessment.dto.monitoring.DirectoryStats;
+import com.kshrd.assessment.dto.monitoring.PrewarmReport;
+import com.kshrd.assessment.dto.monitoring.TokenClientStats;
+import com.kshrd.assessment.dto.response.ApiResponse;
+import com.kshrd.assessment.dto.response.ResponseUtil;
+import com.kshrd.assessment.service.AttemptContextCache;
+import com.kshrd.assessment.service.ExamPrewarmService;
+import com.kshrd.assessment.service.ExamSnapshotCache;
+import com.kshrd.assessment.service.IKeycloakService;
+import com.kshrd.assessment.service.KeycloakTokenClient;
+import com.kshrd.assessment.service.StartAdmissionGate;
+import com.kshrd.assessment.service.UserDirectory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v4/monitoring")
+@AllArgsConstructor
+@Tag(name = "Monitoring", description = "Runtime counters of in-process caches and workers")
+@SecurityRequirement(name = "bearerAuth")
+public class MonitoringController {
+
+    private final AttemptContextCache attemptContextCache;
+    private final ExamSnapshotCache examSnapshotCache;
+    private final StartAdmissionGate startAdmissionGate;
+    private final ExamPrewarmService examPrewarmService;
+    private final UserDirectory userDirectory;
+    private final IKeycloakService keycloakService;
+    private final KeycloakTokenClient keycloakTokenClient;
+
+    @GetMapping("/caches")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Get cache statistics", description = "Returns size, hit, miss, eviction and invalidation counters of the in-process caches. Only accessible by admins")
+    public ResponseEntity<ApiResponse<Map<String, CacheStats>>> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("attemptContext", attemptContextCache.stats());
+        stats.put("examSnapshot", examSnapshotCache.stats());
+        return ResponseUtil.ok(stats, "Cache statistics retrieved successfully");
+    }
+
+    @GetMapping("/prewarm")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Get pre-warm reports", description = "Lists the exams warmed ahead of their start time, most recent first, with what was loaded and how long each part took. Only accessible by admins")
+    public ResponseEntity<ApiResponse<List<PrewarmReport>>> getPrewarmReports() {
+        return ResponseUtil.ok(examPrewarmService.reports(), "Pre-warm reports retrieved successfully");
+    }
+
+    @PostMapping("/prewarm/{assessmentId}")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Pre-warm an exam", description = "Warms the caches of an exam immediately, regardless of its schedule. Only accessible by admins")
+    public ResponseEntity<ApiResponse<PrewarmReport>> prewarm(@PathVariable UUID assessmentId) {
+        return ResponseUtil.ok(examPrewarmService.prewarm(assessmentId), "Exam pre-warmed successfully");
+    }
+
+    @GetMapping("/admission")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Get admission statistics", description = "Returns in-flight and queued assessment starts, admissions, rejections and wait times. Only accessible by admins")
+    public ResponseEntity<ApiResponse<AdmissionStats>> getAdmissionStats() {
+        return ResponseUtil.ok(startAdmissionGate.stats(), "Admission statistics retrieved successfully");
+    }
+
+    @GetMapping("/directory")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Get user directory statistics", description = "Returns the size and age of the cached Keycloak user directory and the outcome of its refreshes. Only accessible by admins")
+    public ResponseEntity<ApiResponse<DirectoryStats>> getDirectoryStats() {
+        return ResponseUtil.ok(userDirectory.stats(), "User directory statistics retrieved successfully");
+    }
+
+    @PostMapping("/directory/refresh")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Refresh the user directory", description = "Reloads the cached user directory from Keycloak now instead of at the next scheduled refresh. Only accessible by admins")
+    public ResponseEntity<ApiResponse<DirectoryStats>> refreshDirectory() {
+        keycloakService.refreshDirectory();
+        return ResponseUtil.ok(userDirectory.stats(), "User directory refreshed");
+    }
+
+    @GetMapping("/token-client")
+    @PreAuthorize("hasRole('admin')")
+    @Operation(summary = "Get token client statistics", description = "Returns in-flight and waiting logins against the Keycloak token endpoint, how often the connection pool was saturated and the endpoint latency. Only accessible by admins")
+    public ResponseEntity<ApiResponse<TokenClientStats>> getTokenClientStats() {
+        return ResponseUtil.ok(keycloakTokenClient.stats(), "Token client statistics retrieved successfully");
+    }
+}
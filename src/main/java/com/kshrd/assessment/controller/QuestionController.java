@@ -13,6 +13,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -28,8 +29,11 @@ public class QuestionController {
 
     @GetMapping("/{questionId}")
     @PreAuthorize("hasRole('student') or hasRole('teacher') or hasRole('admin')")
-    @Operation(summary = "Get question by ID", description = "Retrieves a specific question by its unique identifier including question type, content, image, and associated section ID")
-    public ResponseEntity<ApiResponse<QuestionResponse>> getQuestion(@PathVariable UUID questionId) {
+    @Operation(summary = "Get question by ID", description = "Retrieves a specific question by its unique identifier including question type, content, image, and associated section ID. Supports If-None-Match with the returned ETag")
+    public ResponseEntity<ApiResponse<QuestionResponse>> getQuestion(@PathVariable UUID questionId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ResponseUtil.contentETag(examService.getQuestionContentVersion(questionId)))) {
+            return null;
+        }
         Optional<QuestionResponse> response = examService.getQuestionById(questionId);
         return response.map(ResponseUtil::ok)
                 .orElse(ResponseUtil.notFound("Question not found"));
@@ -0,0 +1,50 @@
+package com.kshrd.assessment.controller;
+
+import com.kshrd.assessment.dto.regrade.RegradeJobResponse;
+import com.kshrd.assessment.dto.response.ApiResponse;
+import com.kshrd.assessment.dto.response.ResponseUtil;
+import com.kshrd.assessment.service.RegradeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v4/regrade-jobs")
+@AllArgsConstructor
+@Tag(name = "Re-grade Jobs", description = "APIs for re-scoring submitted answers after an answer key changes")
+@SecurityRequirement(name = "bearerAuth")
+public class RegradeController {
+
+    private final RegradeService regradeService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Re-grade assessment", description = "Starts a background job that re-scores every auto-graded answer of an assessment. Jobs for a single question start automatically when its answer key or points change")
+    public ResponseEntity<ApiResponse<RegradeJobResponse>> startRegrade(@RequestParam UUID assessmentId) {
+        RegradeJobResponse response = regradeService.startFullRegrade(assessmentId);
+        return ResponseUtil.created(response, "Re-grade job started successfully");
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Get re-grade job", description = "Returns the status, progress and throughput of a re-grade job")
+    public ResponseEntity<ApiResponse<RegradeJobResponse>> getJob(@PathVariable UUID jobId) {
+        RegradeJobResponse response = regradeService.getJob(jobId);
+        return ResponseUtil.ok(response, "Re-grade job retrieved successfully");
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Get re-grade jobs of assessment", description = "Lists the re-grade jobs of an assessment, newest first")
+    public ResponseEntity<ApiResponse<List<RegradeJobResponse>>> getJobsByAssessment(@RequestParam UUID assessmentId) {
+        List<RegradeJobResponse> responses = regradeService.getJobsByAssessment(assessmentId);
+        return ResponseUtil.ok(responses, "Re-grade jobs retrieved successfully");
+    }
+}
@@ -13,6 +13,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -28,8 +29,11 @@ public class SectionController {
 
     @GetMapping("/{sectionId}")
     @PreAuthorize("hasRole('student') or hasRole('teacher') or hasRole('admin')")
-    @Operation(summary = "Get section by ID", description = "Retrieves a specific section by its unique identifier including section name and associated assessment ID")
-    public ResponseEntity<ApiResponse<SectionResponse>> getSection(@PathVariable UUID sectionId) {
+    @Operation(summary = "Get section by ID", description = "Retrieves a specific section by its unique identifier including section name and associated assessment ID. Supports If-None-Match with the returned ETag")
+    public ResponseEntity<ApiResponse<SectionResponse>> getSection(@PathVariable UUID sectionId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ResponseUtil.contentETag(examService.getSectionContentVersion(sectionId)))) {
+            return null;
+        }
         Optional<SectionResponse> response = examService.getSectionById(sectionId);
         return response.map(ResponseUtil::ok)
                 .orElse(ResponseUtil.notFound("Section not found"));
@@ -10,7 +10,9 @@ import com.kshrd.assessment.dto.studentassessment.StudentAssessmentRequest;
 import com.kshrd.assessment.dto.studentassessment.StudentAssessmentResponse;
 import com.kshrd.assessment.dto.studentassessment.SubmitAssessmentRequest;
 import com.kshrd.assessment.service.IStudentAssessmentService;
+import com.kshrd.assessment.service.StartAdmissionGate;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -31,6 +33,7 @@ import java.util.UUID;
 public class StudentAssessmentController {
 
     private final IStudentAssessmentService studentAssessmentService;
+    private final StartAdmissionGate startAdmissionGate;
 
     @PostMapping("/assign")
     @PreAuthorize("hasRole('teacher') or hasRole('admin')")
@@ -43,10 +46,11 @@ public class StudentAssessmentController {
 
     @PostMapping("/{assessmentId}/start")
     @PreAuthorize("hasRole('student')")
-    @Operation(summary = "Start assessment", description = "Starts an assessment when a student begins taking it")
+    @Operation(summary = "Start assessment", description = "Starts an assessment when a student begins taking it. Concurrent starts of one assessment are queued; when the queue is full or the wait times out the request fails with 503 and a Retry-After header")
     public ResponseEntity<ApiResponse<StudentAssessmentResponse>> startAssessment(
             @PathVariable UUID assessmentId) {
-        StudentAssessmentResponse response = studentAssessmentService.startAssessment(assessmentId);
+        StudentAssessmentResponse response = startAdmissionGate.admit(assessmentId,
+                () -> studentAssessmentService.startAssessment(assessmentId));
         return ResponseUtil.ok(response, "Assessment started successfully");
     }
 
@@ -76,8 +80,10 @@ public class StudentAssessmentController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
-            @RequestParam(required = false) String search) {
-        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search);
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @Parameter(description = PageRequest.CURSOR_DESCRIPTION) String cursor,
+            @RequestParam(defaultValue = "false") @Parameter(description = PageRequest.INCLUDE_TOTAL_DESCRIPTION) boolean includeTotal) {
+        PageRequest pageRequest = new PageRequest(page, size, sortBy, sortDirection, search, cursor, includeTotal);
         PageResponse<StudentAssessmentResponse> response = studentAssessmentService.getMyAssessments(pageRequest);
         return ResponseUtil.ok(response, "Assessments retrieved successfully");
     }
@@ -1,6 +1,7 @@
 package com.kshrd.assessment.controller;
 
 import com.kshrd.assessment.dto.response.ApiResponse;
+import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
 import com.kshrd.assessment.dto.student.StudentResponse;
 import com.kshrd.assessment.dto.teacher.TeacherResponse;
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -33,5 +35,14 @@ public class StudentController {
         return ResponseUtil.ok(responses, "students retrieved successfully");
     }
 
-
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Search students", description = "Pages over students whose username or email starts with q, case-insensitively, in username order. Served from the cached user directory")
+    public ResponseEntity<ApiResponse<PageResponse<StudentResponse>>> searchStudents(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageResponse<StudentResponse> response = keycloakService.searchStudents(q, page, size);
+        return ResponseUtil.ok(response, "students retrieved successfully");
+    }
 }
@@ -1,6 +1,7 @@
 package com.kshrd.assessment.controller;
 
 import com.kshrd.assessment.dto.response.ApiResponse;
+import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
 import com.kshrd.assessment.dto.teacher.TeacherResponse;
 import com.kshrd.assessment.service.IKeycloakService;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -35,5 +37,14 @@ public class TeacherController {
         return ResponseUtil.ok(responses, "Teachers retrieved successfully");
     }
 
-
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('teacher') or hasRole('admin')")
+    @Operation(summary = "Search teachers", description = "Pages over teachers whose username or email starts with q, case-insensitively, in username order. Served from the cached user directory")
+    public ResponseEntity<ApiResponse<PageResponse<TeacherResponse>>> searchTeachers(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageResponse<TeacherResponse> response = keycloakService.searchTeachers(q, page, size);
+        return ResponseUtil.ok(response, "Teachers retrieved successfully");
+    }
 }
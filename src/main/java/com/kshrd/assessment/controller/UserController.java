@@ -6,6 +6,7 @@ import com.kshrd.assessment.dto.auth.UserRequest;
 import com.kshrd.assessment.dto.response.ApiResponse;
 import com.kshrd.assessment.dto.response.ResponseUtil;
 import com.kshrd.assessment.service.IKeycloakService;
+import com.kshrd.assessment.service.KeycloakTokenClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v4/auth")
 @AllArgsConstructor
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Authentication", description = "APIs for user authentication and registration")
 public class UserController {
     private final IKeycloakService keycloakService;
+    private final KeycloakTokenClient tokenClient;
 
     @PostMapping("/register")
     @SecurityRequirements(value = {})
@@ -39,8 +43,9 @@ public class UserController {
     @PostMapping("/login")
     @SecurityRequirements(value = {})
     @Operation(summary = "User login", description = "Authenticates a user and returns JWT access token and refresh token. This endpoint does not require authentication.")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@RequestBody @Valid LoginRequest loginRequest) {
-        LoginResponse loginResponse = keycloakService.login(loginRequest);
-        return ResponseUtil.ok(loginResponse, "Login successful");
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(@RequestBody @Valid LoginRequest loginRequest) {
+        // Runs on a virtual thread, the servlet thread is released while the token endpoint answers
+        return CompletableFuture.supplyAsync(() -> keycloakService.login(loginRequest), tokenClient.executor())
+                .thenApply(loginResponse -> ResponseUtil.ok(loginResponse, "Login successful"));
     }
 }
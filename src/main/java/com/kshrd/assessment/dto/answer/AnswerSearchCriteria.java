@@ -0,0 +1,18 @@
+package com.kshrd.assessment.dto.answer;
+
+import java.util.UUID;
+
+/**
+ * Optional filters of the teacher answer listing. {@code after} is the keyset cursor, the last answerId of the
+ * previous page; when it is set the page number is ignored.
+ */
+public record AnswerSearchCriteria(
+        UUID questionId,
+        UUID studentId,
+        UUID sectionId,
+        UUID after
+) {
+    public static AnswerSearchCriteria none() {
+        return new AnswerSearchCriteria(null, null, null, null);
+    }
+}
@@ -12,7 +12,7 @@ public record SubmitAnswersRequest(
         @Valid
         List<AnswerRequest> answers,
         
-        @NotNull(message = "Score cannot be null")
+        // Ignored, the score is computed on the server. Kept so existing clients keep validating.
         Double score,
         
         @NotNull(message = "Duration cannot be null")
@@ -0,0 +1,18 @@
+package com.kshrd.assessment.dto.classroom;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AssignClassroomsRequest(
+        @NotEmpty(message = "Classroom IDs cannot be empty")
+        @Size(max = 500, message = "At most 500 classrooms can be assigned at once")
+        List<UUID> classroomIds,
+
+        @NotEmpty(message = "Assessment IDs cannot be empty")
+        @Size(max = 500, message = "At most 500 assessments can be assigned at once")
+        List<UUID> assessmentIds
+) {
+}
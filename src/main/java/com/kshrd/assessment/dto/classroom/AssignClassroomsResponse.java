@@ -0,0 +1,9 @@
+package com.kshrd.assessment.dto.classroom;
+
+public record AssignClassroomsResponse(
+        int classrooms,
+        int assessments,
+        int classroomLinksCreated,
+        int attemptsCreated
+) {
+}
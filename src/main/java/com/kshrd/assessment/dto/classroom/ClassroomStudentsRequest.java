@@ -0,0 +1,14 @@
+package com.kshrd.assessment.dto.classroom;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ClassroomStudentsRequest(
+        @NotEmpty(message = "Student IDs cannot be empty")
+        @Size(max = 10000, message = "At most 10000 students can be changed at once")
+        List<UUID> studentIds
+) {
+}
@@ -0,0 +1,16 @@
+package com.kshrd.assessment.dto.exam;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record CloneExamsRequest(
+        @NotEmpty(message = "Exam IDs cannot be empty")
+        @Size(max = 1000, message = "At most 1000 exams can be cloned at once")
+        List<UUID> examIds,
+
+        @Size(max = 100, message = "Name suffix must not exceed 100 characters")
+        String nameSuffix
+) {
+}
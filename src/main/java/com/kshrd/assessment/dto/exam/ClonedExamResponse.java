@@ -0,0 +1,9 @@
+package com.kshrd.assessment.dto.exam;
+
+import java.util.UUID;
+
+public record ClonedExamResponse(
+        UUID sourceExamId,
+        UUID examId
+) {
+}
@@ -0,0 +1,13 @@
+package com.kshrd.assessment.dto.monitoring;
+
+public record AdmissionStats(
+        long gates,
+        long inFlight,
+        long queued,
+        long admitted,
+        long rejectedQueueFull,
+        long rejectedTimeout,
+        double averageWaitMillis,
+        long maxWaitMillis
+) {
+}
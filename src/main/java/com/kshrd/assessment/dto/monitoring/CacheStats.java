@@ -0,0 +1,10 @@
+package com.kshrd.assessment.dto.monitoring;
+
+public record CacheStats(
+        long size,
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations
+) {
+}
@@ -0,0 +1,16 @@
+package com.kshrd.assessment.dto.monitoring;
+
+import java.time.OffsetDateTime;
+
+public record DirectoryStats(
+        boolean loaded,
+        boolean stale,
+        long students,
+        long teachers,
+        OffsetDateTime refreshedAt,
+        long lastRefreshMillis,
+        long refreshes,
+        long failedRefreshes,
+        String lastFailure
+) {
+}
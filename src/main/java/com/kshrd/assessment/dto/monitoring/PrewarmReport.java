@@ -0,0 +1,24 @@
+package com.kshrd.assessment.dto.monitoring;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * What pre-warming one exam loaded and how long each part took, error is set if it failed part way.
+ */
+public record PrewarmReport(
+        UUID assessmentId,
+        String name,
+        OffsetDateTime startsAt,
+        OffsetDateTime warmedAt,
+        int questions,
+        int attempts,
+        int snapshotBytes,
+        long snapshotMillis,
+        long answerKeyMillis,
+        long questionIndexMillis,
+        long attemptsMillis,
+        long totalMillis,
+        String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.kshrd.assessment.dto.monitoring;
+
+public record TokenClientStats(
+        int maxConnections,
+        long inFlight,
+        long waiting,
+        long requests,
+        long waited,
+        long rejected,
+        long failures,
+        double averageLatencyMillis,
+        long maxLatencyMillis
+) {
+}
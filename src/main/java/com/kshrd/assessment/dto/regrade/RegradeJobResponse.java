@@ -0,0 +1,21 @@
+package com.kshrd.assessment.dto.regrade;
+
+import com.kshrd.assessment.utils.enums.RegradeStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RegradeJobResponse(
+        UUID jobId,
+        UUID assessmentId,
+        UUID questionId,
+        RegradeStatus status,
+        long totalAnswers,
+        long processedAnswers,
+        double answersPerSecond,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {
+}
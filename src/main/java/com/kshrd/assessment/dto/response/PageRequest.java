@@ -11,6 +11,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class PageRequest {
     
+    public static final String CURSOR_DESCRIPTION = "Keyset paging: pass an empty value for the first page and the previous page's "
+            + "nextCursor for the next one. Page is then ignored.";
+    
+    public static final String INCLUDE_TOTAL_DESCRIPTION = "Whether keyset pages also count the total. Offset pages always do.";
+    
     @Min(value = 0, message = "Page number must be 0 or greater")
     private int page = 0;
     
@@ -24,6 +29,25 @@ public class PageRequest {
     
     private String search;
     
+    /**
+     * Keyset cursor from a previous page's nextCursor. Any non-null value, blank for the first page, switches
+     * the request from offset to cursor paging and {@link #page} is ignored.
+     */
+    private String cursor;
+    
+    /**
+     * Whether cursor pages should also count the total, offset pages always do.
+     */
+    private boolean includeTotal;
+    
+    public PageRequest(int page, int size, String sortBy, String sortDirection, String search) {
+        this(page, size, sortBy, sortDirection, search, null, false);
+    }
+    
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+    
     public org.springframework.data.domain.PageRequest toPageable() {
         if (sortBy != null && !sortBy.isEmpty()) {
             org.springframework.data.domain.Sort.Direction direction = 
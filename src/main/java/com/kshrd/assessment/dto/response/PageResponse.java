@@ -19,9 +19,12 @@ public class PageResponse<T> {
     
     private int size;
     
-    private long totalElements;
+    /**
+     * Null for cursor pages unless the total was requested.
+     */
+    private Long totalElements;
     
-    private int totalPages;
+    private Integer totalPages;
     
     private boolean first;
     
@@ -31,6 +34,11 @@ public class PageResponse<T> {
     
     private boolean hasPrevious;
     
+    /**
+     * Keyset cursor of the next page, only set by endpoints that support cursor paging.
+     */
+    private String nextCursor;
+    
     public static <T> PageResponse<T> of(org.springframework.data.domain.Page<T> page) {
         return PageResponse.<T>builder()
                 .content(page.getContent())
@@ -45,6 +53,23 @@ public class PageResponse<T> {
                 .build();
     }
     
+    /**
+     * A keyset page: there is no page number, {@code first} is whether the request had no cursor.
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, int size, String nextCursor, Long totalElements, boolean first) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) Math.ceil((double) totalElements / size) : null)
+                .first(first)
+                .last(nextCursor == null)
+                .hasNext(nextCursor != null)
+                .hasPrevious(!first)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     public static <T> PageResponse<T> of(List<T> content, org.springframework.data.domain.Pageable pageable, long totalElements) {
         int totalPages = (int) Math.ceil((double) totalElements / pageable.getPageSize());
         boolean isFirst = pageable.getPageNumber() == 0;
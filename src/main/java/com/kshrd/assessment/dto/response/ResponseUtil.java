@@ -97,6 +97,13 @@ public class ResponseUtil {
         return ResponseEntity.status(status).body(response);
     }
     
+    /**
+     * Strong ETag for content identified by an exam's content version.
+     */
+    public static String contentETag(long contentVersion) {
+        return "\"v" + contentVersion + "\"";
+    }
+    
     public static <T> ResponseEntity<ApiResponse<PageResponse<T>>> ok(PageResponse<T> pageData) {
         return ResponseEntity.ok(ApiResponse.success(pageData, "Data retrieved successfully"));
     }
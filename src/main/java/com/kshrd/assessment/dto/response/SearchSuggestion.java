@@ -0,0 +1,9 @@
+package com.kshrd.assessment.dto.response;
+
+import java.util.UUID;
+
+public record SearchSuggestion(
+        UUID id,
+        String name
+) {
+}
@@ -7,7 +7,7 @@ public record SubmitAssessmentRequest(
         @NotNull(message = "Assessment ID cannot be null")
         java.util.UUID assessmentId,
         
-        @NotNull(message = "Score cannot be null")
+        // Ignored, the score is computed on the server. Kept so existing clients keep validating.
         @PositiveOrZero(message = "Score must be positive or zero")
         Double score,
         
@@ -15,6 +15,9 @@ import java.util.UUID;
 @Table(name = "answer",
     uniqueConstraints = {
         @UniqueConstraint(name = "uniq_answer_per_attempt_question", columnNames = {"attempt_id", "question_id"})
+    },
+    indexes = {
+        @Index(name = "idx_answer_question_attempt", columnList = "question_id, attempt_id")
     })
 @Getter
 @Setter
@@ -3,6 +3,7 @@ package com.kshrd.assessment.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -12,15 +13,21 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "assessments")
+@Table(name = "assessments",
+    indexes = @Index(name = "idx_assessments_window", columnList = "ends_at, starts_at"))
 @EntityListeners(AuditingEntityListener.class)
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 public class Assessment {
+    private static final ZoneId CAMBODIA_ZONE = ZoneId.of("Asia/Phnom_Penh");
+    
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID assessment_id;
@@ -41,6 +48,22 @@ public class Assessment {
     @Column(name = "end_time")
     private LocalTime endTime;
     
+    // The schedule above as instants (Asia/Phnom_Penh), kept in sync by setSchedule for range queries
+    @Column(name = "starts_at")
+    private OffsetDateTime startsAt;
+    
+    @Column(name = "ends_at")
+    private OffsetDateTime endsAt;
+    
+    // Bumped with a bulk update on every authoring change, never written through the entity
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private Long contentVersion;
+    
+    // Set when the exam is deleted, its rows are then purged in the background by ExamPurgeService
+    @Column(name = "deleted_at")
+    private OffsetDateTime deletedAt;
+    
     @CreatedBy
     @Column(name = "created_by")
     private UUID createdBy;
@@ -56,4 +79,18 @@ public class Assessment {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    public void setSchedule(LocalDate assessmentDate, LocalTime startTime, LocalTime endTime) {
+        this.assessmentDate = assessmentDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.startsAt = toInstant(assessmentDate, startTime);
+        this.endsAt = toInstant(assessmentDate, endTime);
+    }
+    
+    private static OffsetDateTime toInstant(LocalDate date, LocalTime time) {
+        return date != null && time != null
+                ? LocalDateTime.of(date, time).atZone(CAMBODIA_ZONE).toOffsetDateTime()
+                : null;
+    }
 }
@@ -11,7 +11,8 @@ import java.util.UUID;
 @Table(name = "assessment_classroom",
     uniqueConstraints = {
         @UniqueConstraint(name = "uniq_assessment_classroom", columnNames = {"assessment_id", "classroom_id"})
-    })
+    },
+    indexes = @Index(name = "idx_assessment_classroom_classroom", columnList = "classroom_id"))
 @Getter
 @Setter
 public class ClassroomAssessment {
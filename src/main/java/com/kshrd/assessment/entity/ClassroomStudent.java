@@ -0,0 +1,44 @@
+package com.kshrd.assessment.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "classroom_student",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uniq_classroom_student", columnNames = {"classroom_id", "student_id"})
+    },
+    indexes = @Index(name = "idx_classroom_student_student", columnList = "student_id"))
+@Getter
+@Setter
+public class ClassroomStudent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private UUID id;
+    
+    @Column(name = "classroom_id", nullable = false)
+    private UUID classroomId;
+    
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "classroom_id", nullable = false, insertable = false, updatable = false)
+    private Classroom classroom;
+    
+    @Column(name = "added_at", nullable = false)
+    private LocalDateTime addedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (addedAt == null) {
+            addedAt = LocalDateTime.now();
+        }
+    }
+}
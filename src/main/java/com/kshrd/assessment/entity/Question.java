@@ -11,7 +11,8 @@ import java.util.Map;
 import java.util.UUID;
 
 @Entity
-@Table(name = "questions")
+@Table(name = "questions",
+    indexes = @Index(name = "idx_questions_section", columnList = "section_id"))
 @Getter
 @Setter
 public class Question {
@@ -0,0 +1,62 @@
+package com.kshrd.assessment.entity;
+
+import com.kshrd.assessment.utils.enums.RegradeStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "regrade_job",
+    indexes = {
+        @Index(name = "idx_regrade_job_assessment", columnList = "assessment_id"),
+        @Index(name = "idx_regrade_job_status", columnList = "status")
+    })
+@Getter
+@Setter
+public class RegradeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "assessment_id", nullable = false)
+    private UUID assessmentId;
+
+    /**
+     * The changed question, or null to re-grade every auto-graded answer of the assessment.
+     */
+    @Column(name = "question_id")
+    private UUID questionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private RegradeStatus status = RegradeStatus.PENDING;
+
+    /**
+     * Keyset cursor: answers up to and including this id are already re-graded.
+     */
+    @Column(name = "last_answer_id")
+    private UUID lastAnswerId;
+
+    @Column(name = "total_answers", nullable = false)
+    private Long totalAnswers = 0L;
+
+    @Column(name = "processed_answers", nullable = false)
+    private Long processedAnswers = 0L;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+}
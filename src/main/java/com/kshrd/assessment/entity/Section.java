@@ -8,7 +8,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sections")
+@Table(name = "sections",
+    indexes = @Index(name = "idx_sections_assessment", columnList = "assessment_id"))
 @Getter
 @Setter
 
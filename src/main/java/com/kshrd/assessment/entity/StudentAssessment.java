@@ -10,7 +10,14 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "student_assessment")
+@Table(name = "student_assessment",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uniq_student_assessment_attempt", columnNames = {"student_id", "assessment_id", "attempt_no"})
+    },
+    indexes = {
+        @Index(name = "idx_student_assessment_assessment", columnList = "assessment_id"),
+        @Index(name = "idx_student_assessment_status_ends_at", columnList = "status, ends_at")
+    })
 @Getter
 @Setter
 public class StudentAssessment {
@@ -0,0 +1,18 @@
+package com.kshrd.assessment.exception;
+
+/**
+ * The request was turned away by admission control, the client should retry after {@code retryAfterSeconds}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
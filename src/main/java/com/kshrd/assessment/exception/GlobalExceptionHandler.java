@@ -2,6 +2,7 @@ package com.kshrd.assessment.exception;
 
 import com.kshrd.assessment.dto.response.ApiResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -81,6 +82,26 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value(), "ILLEGAL_STATE", path));
     }
 
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleAdmissionRejectedException(
+            AdmissionRejectedException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value(), "ADMISSION_REJECTED", path));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value(), "SERVICE_UNAVAILABLE", path));
+    }
+
     @ExceptionHandler({AccessDeniedException.class, AuthorizationDeniedException.class})
     public ResponseEntity<ApiResponse<Object>> handleAccessDeniedException(
             Exception ex, WebRequest request) {
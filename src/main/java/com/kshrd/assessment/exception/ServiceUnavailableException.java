@@ -0,0 +1,18 @@
+package com.kshrd.assessment.exception;
+
+/**
+ * A dependency the request needs is not ready yet, the client should retry after {@code retryAfterSeconds}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
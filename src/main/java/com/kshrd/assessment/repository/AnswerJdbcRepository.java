@@ -0,0 +1,205 @@
+package com.kshrd.assessment.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.assessment.dto.answer.AnswerSearchCriteria;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based answer writes and joined answer listings that would otherwise cost one round trip per row through JPA.
+ */
+@Repository
+@AllArgsConstructor
+public class AnswerJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO answer (answer_id, attempt_id, question_id, answer, saved_at)
+            SELECT gen_random_uuid(), v.attempt_id, v.question_id, CAST(v.answer AS jsonb), now()
+            FROM unnest(?::uuid[], ?::uuid[], ?::text[]) AS v(attempt_id, question_id, answer)
+            ON CONFLICT ON CONSTRAINT uniq_answer_per_attempt_question
+            DO UPDATE SET answer = EXCLUDED.answer
+            RETURNING answer_id, attempt_id, question_id, score, saved_at
+            """;
+
+    // FOR SHARE waits for a concurrent submit to commit and then sees the attempt is no longer in progress
+    private static final String UPSERT_IN_PROGRESS_SQL = """
+            INSERT INTO answer (answer_id, attempt_id, question_id, answer, saved_at)
+            SELECT gen_random_uuid(), v.attempt_id, v.question_id, CAST(v.answer AS jsonb), now()
+            FROM unnest(?::uuid[], ?::uuid[], ?::text[]) AS v(attempt_id, question_id, answer)
+            WHERE v.attempt_id IN (
+                SELECT sa.attempt_id FROM student_assessment sa
+                WHERE sa.attempt_id = ANY(?::uuid[]) AND sa.status = 'IN_PROGRESS'
+                FOR SHARE
+            )
+            ON CONFLICT ON CONSTRAINT uniq_answer_per_attempt_question
+            DO UPDATE SET answer = EXCLUDED.answer
+            RETURNING answer_id, attempt_id, question_id, score, saved_at
+            """;
+
+    private static final String LISTING_SQL = """
+            SELECT a.answer_id, sa.student_id, a.question_id, a.answer, a.score, a.saved_at
+            FROM answer a
+            JOIN student_assessment sa ON sa.attempt_id = a.attempt_id
+            """;
+
+    private static final String COUNT_SQL = """
+            SELECT count(*)
+            FROM answer a
+            JOIN student_assessment sa ON sa.attempt_id = a.attempt_id
+            """;
+
+    private static final TypeReference<Map<String, Object>> ANSWER_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts or updates every row in a single statement. Callers must not pass the same
+     * (attemptId, questionId) pair twice, Postgres rejects an upsert touching a row more than once.
+     */
+    public List<AnswerRow> upsertAll(List<AnswerUpsert> rows) {
+        return upsert(rows, false);
+    }
+
+    /**
+     * Like {@link #upsertAll}, but silently skips rows whose attempt is no longer IN_PROGRESS. Used for writes
+     * that were accepted earlier and may land after the attempt was submitted.
+     */
+    public List<AnswerRow> upsertAllInProgress(List<AnswerUpsert> rows) {
+        return upsert(rows, true);
+    }
+
+    private List<AnswerRow> upsert(List<AnswerUpsert> rows, boolean inProgressOnly) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        UUID[] attemptIds = new UUID[rows.size()];
+        UUID[] questionIds = new UUID[rows.size()];
+        String[] answers = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            AnswerUpsert row = rows.get(i);
+            attemptIds[i] = row.attemptId();
+            questionIds[i] = row.questionId();
+            answers[i] = toJson(row.answer());
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(inProgressOnly ? UPSERT_IN_PROGRESS_SQL : UPSERT_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", attemptIds));
+            ps.setArray(2, connection.createArrayOf("uuid", questionIds));
+            ps.setArray(3, connection.createArrayOf("text", answers));
+            if (inProgressOnly) {
+                ps.setArray(4, connection.createArrayOf("uuid", attemptIds));
+            }
+            return ps;
+        }, (rs, rowNum) -> new AnswerRow(
+                rs.getObject("answer_id", UUID.class),
+                rs.getObject("attempt_id", UUID.class),
+                rs.getObject("question_id", UUID.class),
+                rs.getObject("score", Double.class),
+                rs.getObject("saved_at", OffsetDateTime.class)
+        ));
+    }
+
+    /**
+     * One page of an assessment's answers in answerId order. With a keyset cursor in the criteria the offset
+     * should be 0; a limit of 0 returns every matching row.
+     */
+    public List<AnswerListingRow> findByAssessment(UUID assessmentId, AnswerSearchCriteria criteria, int limit, long offset) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(LISTING_SQL).append(where(assessmentId, criteria, true, args));
+        sql.append(" ORDER BY a.answer_id");
+        if (limit > 0) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(limit);
+            args.add(offset);
+        }
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new AnswerListingRow(
+                rs.getObject("answer_id", UUID.class),
+                rs.getObject("student_id", UUID.class),
+                rs.getObject("question_id", UUID.class),
+                fromJson(rs.getString("answer")),
+                rs.getObject("score", Double.class),
+                rs.getObject("saved_at", OffsetDateTime.class)
+        ), args.toArray());
+    }
+
+    public long countByAssessment(UUID assessmentId, AnswerSearchCriteria criteria) {
+        List<Object> args = new ArrayList<>();
+        String sql = COUNT_SQL + where(assessmentId, criteria, false, args);
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count != null ? count : 0L;
+    }
+
+    private static String where(UUID assessmentId, AnswerSearchCriteria criteria, boolean keyset, List<Object> args) {
+        StringBuilder where = new StringBuilder("WHERE sa.assessment_id = ?");
+        args.add(assessmentId);
+        if (criteria.questionId() != null) {
+            where.append(" AND a.question_id = ?");
+            args.add(criteria.questionId());
+        }
+        if (criteria.studentId() != null) {
+            where.append(" AND sa.student_id = ?");
+            args.add(criteria.studentId());
+        }
+        if (criteria.sectionId() != null) {
+            where.append(" AND a.question_id IN (SELECT q.question_id FROM questions q WHERE q.section_id = ?)");
+            args.add(criteria.sectionId());
+        }
+        if (keyset && criteria.after() != null) {
+            where.append(" AND a.answer_id > ?");
+            args.add(criteria.after());
+        }
+        return where.toString();
+    }
+
+    private Map<String, Object> fromJson(String answer) {
+        if (answer == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(answer, ANSWER_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored answer is not valid JSON", e);
+        }
+    }
+
+    private String toJson(Map<String, Object> answer) {
+        if (answer == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(answer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Answer content is not valid JSON", e);
+        }
+    }
+
+    public record AnswerUpsert(UUID attemptId, UUID questionId, Map<String, Object> answer) {
+    }
+
+    public record AnswerListingRow(
+            UUID answerId,
+            UUID studentId,
+            UUID questionId,
+            Map<String, Object> answer,
+            Double score,
+            OffsetDateTime savedAt
+    ) {
+    }
+
+    public record AnswerRow(UUID answerId, UUID attemptId, UUID questionId, Double score, OffsetDateTime savedAt) {
+    }
+}
@@ -27,6 +27,20 @@ public interface AnswerRepository extends JpaRepository<Answer, UUID> {
     @Query("SELECT a FROM Answer a WHERE a.attemptId = :attemptId AND a.question.question_id = :questionId")
     Optional<Answer> findByAttemptIdAndQuestion_Question_id(@Param("attemptId") UUID attemptId, @Param("questionId") UUID questionId);
     
+    /**
+     * The student's attempts at the assessment owning the question, latest first, each paired with its answer
+     * to that question or null. Rows are {@code [StudentAssessment, Answer]}; pass a page size of 1 for the latest.
+     */
+    @Query("""
+            SELECT sa, a FROM StudentAssessment sa
+            JOIN Section s ON s.assessment.assessment_id = sa.assessmentId
+            JOIN Question q ON q.section = s AND q.question_id = :questionId
+            LEFT JOIN Answer a ON a.attemptId = sa.attemptId AND a.question = q
+            WHERE sa.studentId = :studentId
+            ORDER BY sa.attemptNo DESC
+            """)
+    List<Object[]> findLatestAttemptAnswer(@Param("studentId") UUID studentId, @Param("questionId") UUID questionId, Pageable pageable);
+    
     @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Answer a WHERE a.attemptId = :attemptId AND a.question.question_id = :questionId")
     boolean existsByAttemptIdAndQuestion_Question_id(@Param("attemptId") UUID attemptId, @Param("questionId") UUID questionId);
     
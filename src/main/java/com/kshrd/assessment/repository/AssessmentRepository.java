@@ -4,14 +4,25 @@ import com.kshrd.assessment.entity.Assessment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, UUID> {
+     String SUMMARY_SELECT = "SELECT new com.kshrd.assessment.repository.ExamSummary(a, " +
+            "(SELECT COUNT(s) FROM Section s WHERE s.assessment = a), " +
+            "(SELECT COUNT(q) FROM Question q WHERE q.section.assessment = a)) " +
+            "FROM Assessment a";
+     
+     String ACTIVE = "a.startsAt <= :now AND a.endsAt >= :now";
+     
      @Query("SELECT DISTINCT a FROM Assessment a LEFT JOIN FETCH a.sections WHERE a.createdBy = :createdBy")
      List<Assessment> findByCreatedByWithSections(UUID createdBy);
      
@@ -57,4 +68,83 @@ public interface AssessmentRepository extends JpaRepository<Assessment, UUID> {
             "AND a.endTime IS NOT NULL " +
             "AND LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))")
      Page<Assessment> findPublishedExamsWithScheduleAndNameContaining(String search, Pageable pageable);
+
+     /**
+      * Typeahead over the owner's exams: prefix matches on the lower-cased name, closest names first.
+      */
+     @Query(value = "SELECT a.assessment_id AS id, a.name AS name FROM assessments a " +
+            "WHERE a.created_by = :createdBy AND a.deleted_at IS NULL AND lower(a.name) LIKE :prefix " +
+            "ORDER BY similarity(lower(a.name), :term) DESC, lower(a.name) LIMIT :limit",
+            nativeQuery = true)
+     List<NameMatch> suggestByCreatedBy(UUID createdBy, String prefix, String term, int limit);
+     
+     @Query("SELECT COUNT(a) FROM Assessment a WHERE a.assessment_id IN :ids")
+     long countByIds(Collection<UUID> ids);
+     
+     @Query(SUMMARY_SELECT + " WHERE a.assessment_id IN :ids")
+     List<ExamSummary> findSummariesByIds(Collection<UUID> ids);
+     
+     @Query(SUMMARY_SELECT + " WHERE a.createdBy = :createdBy")
+     List<ExamSummary> findSummariesByCreatedBy(UUID createdBy);
+     
+     @Query(value = SUMMARY_SELECT + " WHERE a.createdBy = :createdBy",
+            countQuery = "SELECT COUNT(a) FROM Assessment a WHERE a.createdBy = :createdBy")
+     Page<ExamSummary> findSummariesByCreatedBy(UUID createdBy, Pageable pageable);
+     
+     @Query(value = SUMMARY_SELECT + " WHERE a.createdBy = :createdBy AND LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Assessment a WHERE a.createdBy = :createdBy AND LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+     Page<ExamSummary> findSummariesByCreatedByAndNameContaining(UUID createdBy, String search, Pageable pageable);
+     
+     @Query(SUMMARY_SELECT)
+     List<ExamSummary> findAllSummaries();
+     
+     @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(a) FROM Assessment a")
+     Page<ExamSummary> findAllSummaries(Pageable pageable);
+     
+     @Query(value = SUMMARY_SELECT + " WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Assessment a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+     Page<ExamSummary> findSummariesByNameContaining(String search, Pageable pageable);
+     
+     @Query(SUMMARY_SELECT + " WHERE " + ACTIVE)
+     List<ExamSummary> findActiveExamSummaries(OffsetDateTime now);
+     
+     // The ends_at bound lets the window index skip finished exams
+     @Query("SELECT a FROM Assessment a WHERE a.endsAt >= :from AND a.startsAt > :from AND a.startsAt <= :to")
+     List<Assessment> findStartingBetween(OffsetDateTime from, OffsetDateTime to);
+     
+     @Query(value = SUMMARY_SELECT + " WHERE " + ACTIVE,
+            countQuery = "SELECT COUNT(a) FROM Assessment a WHERE " + ACTIVE)
+     Page<ExamSummary> findActiveExamSummaries(OffsetDateTime now, Pageable pageable);
+     
+     @Query(value = SUMMARY_SELECT + " WHERE " + ACTIVE + " AND LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Assessment a WHERE " + ACTIVE + " AND LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%'))")
+     Page<ExamSummary> findActiveExamSummariesByNameContaining(OffsetDateTime now, String search, Pageable pageable);
+
+     @Query("SELECT a.contentVersion FROM Assessment a WHERE a.assessment_id = :assessmentId")
+     Optional<Long> findContentVersion(UUID assessmentId);
+
+     // Fills the window instants of rows scheduled before the columns existed, a no-op once they are set
+     @Modifying
+     @Query(value = "UPDATE assessments " +
+            "SET starts_at = (assessment_date + start_time) AT TIME ZONE 'Asia/Phnom_Penh', " +
+            "ends_at = (assessment_date + end_time) AT TIME ZONE 'Asia/Phnom_Penh' " +
+            "WHERE assessment_date IS NOT NULL AND start_time IS NOT NULL AND end_time IS NOT NULL " +
+            "AND (starts_at IS NULL OR ends_at IS NULL)", nativeQuery = true)
+     int backfillWindowInstants();
+
+     @Modifying
+     @Query("UPDATE Assessment a SET a.contentVersion = a.contentVersion + 1 WHERE a.assessment_id = :assessmentId")
+     int incrementContentVersion(UUID assessmentId);
+
+     @Modifying
+     @Query("UPDATE Assessment a SET a.deletedAt = :now WHERE a.assessment_id = :assessmentId AND a.deletedAt IS NULL")
+     int markDeleted(UUID assessmentId, OffsetDateTime now);
+
+     @Query("SELECT COUNT(a) > 0 FROM Assessment a WHERE " + ACTIVE)
+     boolean existsActiveExam(OffsetDateTime now);
+
+     // Native, deleted rows are invisible to JPQL
+     @Query(value = "SELECT assessment_id FROM assessments WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit",
+            nativeQuery = true)
+     List<UUID> findDeletedIds(int limit);
 }
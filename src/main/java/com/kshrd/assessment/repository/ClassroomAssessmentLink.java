@@ -0,0 +1,9 @@
+package com.kshrd.assessment.repository;
+
+import java.util.UUID;
+
+/**
+ * One classroom-assessment link, selected without loading the ClassroomAssessment entity.
+ */
+public record ClassroomAssessmentLink(UUID classroomId, UUID assessmentId) {
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +27,10 @@ public interface ClassroomAssessmentRepository extends JpaRepository<ClassroomAs
     @Query("SELECT ca.assessmentId FROM ClassroomAssessment ca WHERE ca.classroomId = :classroomId")
     List<UUID> findAssessmentIdsByClassroomId(@Param("classroomId") UUID classroomId);
     
+    @Query("SELECT new com.kshrd.assessment.repository.ClassroomAssessmentLink(ca.classroomId, ca.assessmentId) " +
+           "FROM ClassroomAssessment ca WHERE ca.classroomId IN :classroomIds")
+    List<ClassroomAssessmentLink> findLinksByClassroomIdIn(@Param("classroomIds") Collection<UUID> classroomIds);
+    
     @Query("SELECT ca.classroomId FROM ClassroomAssessment ca WHERE ca.assessmentId = :assessmentId")
     List<UUID> findClassroomIdsByAssessmentId(@Param("assessmentId") UUID assessmentId);
 }
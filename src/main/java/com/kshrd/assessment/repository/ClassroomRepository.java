@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,10 +30,22 @@ public interface ClassroomRepository extends JpaRepository<Classroom, UUID> {
     @Query("SELECT c FROM Classroom c WHERE LOWER(c.className) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Classroom> findByClassNameContainingIgnoreCase(@Param("search") String search, Pageable pageable);
     
+    /**
+     * Typeahead over the teacher's classrooms: prefix matches on the lower-cased name, closest names first.
+     */
+    @Query(value = "SELECT c.classroom_id AS id, c.class_name AS name FROM classrooms c " +
+            "WHERE c.teacher_id = :teacherId AND lower(c.class_name) LIKE :prefix " +
+            "ORDER BY similarity(lower(c.class_name), :term) DESC, lower(c.class_name) LIMIT :limit",
+            nativeQuery = true)
+    List<NameMatch> suggestByTeacherId(@Param("teacherId") UUID teacherId, @Param("prefix") String prefix,
+                                       @Param("term") String term, @Param("limit") int limit);
+    
     List<Classroom> findBySubjectId(UUID subjectId);
     
     Optional<Classroom> findByClassroomIdAndTeacherId(UUID classroomId, UUID teacherId);
     
     boolean existsByClassNameAndTeacherId(String className, UUID teacherId);
+    
+    long countByClassroomIdInAndTeacherId(Collection<UUID> classroomIds, UUID teacherId);
 }
 
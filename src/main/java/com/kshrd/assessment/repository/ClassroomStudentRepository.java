@@ -0,0 +1,27 @@
+package com.kshrd.assessment.repository;
+
+import com.kshrd.assessment.entity.ClassroomStudent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClassroomStudentRepository extends JpaRepository<ClassroomStudent, UUID> {
+    
+    @Query("SELECT cs.studentId FROM ClassroomStudent cs WHERE cs.classroomId = :classroomId ORDER BY cs.addedAt, cs.studentId")
+    List<UUID> findStudentIdsByClassroomId(@Param("classroomId") UUID classroomId);
+    
+    @Modifying
+    @Query("DELETE FROM ClassroomStudent cs WHERE cs.classroomId = :classroomId")
+    int deleteByClassroomId(@Param("classroomId") UUID classroomId);
+    
+    @Modifying
+    @Query("DELETE FROM ClassroomStudent cs WHERE cs.classroomId = :classroomId AND cs.studentId IN :studentIds")
+    int deleteByClassroomIdAndStudentIdIn(@Param("classroomId") UUID classroomId, @Param("studentIds") Collection<UUID> studentIds);
+}
@@ -0,0 +1,13 @@
+package com.kshrd.assessment.repository;
+
+import com.kshrd.assessment.entity.Assessment;
+
+/**
+ * An assessment row with its section and question counts, loaded in one statement for exam listings.
+ */
+public record ExamSummary(
+        Assessment assessment,
+        Long totalSections,
+        Long totalQuestions
+) {
+}
@@ -0,0 +1,230 @@
+package com.kshrd.assessment.repository;
+
+import com.kshrd.assessment.dto.response.PageRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.AllArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cursor paging over any entity, ordered by (sortBy, id).
+ *
+ * Each page seeks past the last row of the previous one instead of skipping an offset, so page 1,000 costs the
+ * same as page 1. The cursor is opaque to clients; it carries the sort it was issued for and is rejected if
+ * the sort changes. NULL sort keys follow Postgres' default ordering: last ascending, first descending. The
+ * total count is a separate query and only runs when requested.
+ */
+@Component
+@AllArgsConstructor
+public class KeysetPager {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // Same bound as PageRequest's @Max, which controllers building the request with new never trigger
+    private static final int MAX_PAGE_SIZE = 100;
+
+    public record KeysetPage<T>(List<T> content, String nextCursor, Long totalElements) {
+    }
+
+    private record Cursor(String sortBy, boolean ascending, String id, String value) {
+    }
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param filter optional restriction, applied to both the page and the count query
+     */
+    public <T> KeysetPage<T> page(Class<T> entityType, String idAttribute, Specification<T> filter, PageRequest pageRequest) {
+        int size = pageRequest.getSize();
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        SingularAttribute<? super T, ?> id = attribute(entityType, idAttribute);
+        SingularAttribute<? super T, ?> key = pageRequest.getSortBy() != null && !pageRequest.getSortBy().isBlank()
+                ? attribute(entityType, pageRequest.getSortBy().trim())
+                : id;
+        boolean ascending = !"DESC".equalsIgnoreCase(pageRequest.getSortDirection());
+        Cursor cursor = decode(pageRequest.getCursor());
+        if (cursor != null && (!cursor.sortBy().equals(key.getName()) || cursor.ascending() != ascending)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        Path<?> keyPath = root.get(key.getName());
+        Path<?> idPath = root.get(id.getName());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (cursor != null) {
+            Comparable<?> lastId = parse(id.getJavaType(), cursor.id());
+            Comparable<?> lastValue = cursor.value() != null ? parse(key.getJavaType(), cursor.value()) : null;
+            predicates.add(seek(cb, keyPath, idPath, key == id, ascending, lastValue, lastId));
+        }
+        query.select(root).where(predicates.toArray(Predicate[]::new));
+        if (key == id) {
+            query.orderBy(ascending ? cb.asc(idPath) : cb.desc(idPath));
+        } else {
+            query.orderBy(ascending ? cb.asc(keyPath) : cb.desc(keyPath), ascending ? cb.asc(idPath) : cb.desc(idPath));
+        }
+
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            T last = rows.get(size - 1);
+            Object lastValue = read(key, last);
+            nextCursor = encode(new Cursor(key.getName(), ascending, String.valueOf(read(id, last)),
+                    lastValue != null ? format(lastValue) : null));
+        }
+
+        Long totalElements = pageRequest.isIncludeTotal() ? count(entityType, filter) : null;
+        return new KeysetPage<>(List.copyOf(rows), nextCursor, totalElements);
+    }
+
+    private <T> long count(Class<T> entityType, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        query.select(cb.count(root));
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Path key, Path id, boolean keyIsId, boolean ascending,
+                                  Comparable lastValue, Comparable lastId) {
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (keyIsId) {
+            return idAfter;
+        }
+        if (lastValue == null) {
+            return ascending
+                    ? cb.and(cb.isNull(key), idAfter)
+                    : cb.or(cb.and(cb.isNull(key), idAfter), cb.isNotNull(key));
+        }
+        Predicate keyAfter = ascending ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+        Predicate tie = cb.and(cb.equal(key, lastValue), idAfter);
+        return ascending ? cb.or(keyAfter, tie, cb.isNull(key)) : cb.or(keyAfter, tie);
+    }
+
+    private <T> SingularAttribute<? super T, ?> attribute(Class<T> entityType, String name) {
+        try {
+            SingularAttribute<? super T, ?> attribute = entityManager.getMetamodel().entity(entityType).getSingularAttribute(name);
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                    || !Comparable.class.isAssignableFrom(attribute.getJavaType())) {
+                throw new IllegalArgumentException("Cannot sort by " + name);
+            }
+            return attribute;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot sort by " + name);
+        }
+    }
+
+    private static Object read(SingularAttribute<?, ?> attribute, Object entity) {
+        try {
+            Field field = (Field) attribute.getJavaMember();
+            field.setAccessible(true);
+            return field.get(entity);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot read " + attribute.getName() + " for paging", e);
+        }
+    }
+
+    private static String format(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<?> parse(Class<?> type, String raw) {
+        try {
+            if (type == String.class) {
+                return raw;
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(raw);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(raw);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(raw);
+            }
+            if (type == Double.class || type == double.class) {
+                return Double.valueOf(raw);
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(raw);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(raw);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(raw);
+            }
+            if (type == LocalTime.class) {
+                return LocalTime.parse(raw);
+            }
+            if (type == OffsetDateTime.class) {
+                return OffsetDateTime.parse(raw);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, raw);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        throw new IllegalArgumentException("Cannot page by a " + type.getSimpleName() + " column");
+    }
+
+    private static String encode(Cursor cursor) {
+        // The value goes last so it may contain the separator
+        String raw = cursor.sortBy() + '\n' + (cursor.ascending() ? "ASC" : "DESC") + '\n' + cursor.id() + '\n'
+                + (cursor.value() != null ? "1\n" + cursor.value() : "0\n");
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor.trim()), StandardCharsets.UTF_8).split("\n", 5);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(parts[0], "ASC".equals(parts[1]), parts[2], "1".equals(parts[3]) ? parts[4] : null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
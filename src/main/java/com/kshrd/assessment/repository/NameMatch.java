@@ -0,0 +1,23 @@
+package com.kshrd.assessment.repository;
+
+import java.util.UUID;
+
+/**
+ * Id and name of a typeahead match, projected straight from the native suggest queries.
+ */
+public interface NameMatch {
+
+    UUID getId();
+
+    String getName();
+
+    /**
+     * Turns a typed term into a LIKE prefix pattern, escaping the term's own wildcards.
+     */
+    static String prefixPattern(String term) {
+        return term.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -6,10 +6,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, UUID> {
     @Query("SELECT COUNT(q) FROM Question q WHERE q.section.assessment.assessment_id = :assessmentId")
     Long countByAssessmentId(@Param("assessmentId") UUID assessmentId);
+    
+    @Query("SELECT q.section.assessment.contentVersion FROM Question q WHERE q.question_id = :questionId")
+    Optional<Long> findContentVersion(UUID questionId);
 }
@@ -0,0 +1,18 @@
+package com.kshrd.assessment.repository;
+
+import com.kshrd.assessment.entity.RegradeJob;
+import com.kshrd.assessment.utils.enums.RegradeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, UUID> {
+
+    List<RegradeJob> findByStatusInOrderByCreatedAtAsc(Collection<RegradeStatus> statuses);
+
+    List<RegradeJob> findByAssessmentIdOrderByCreatedAtDesc(UUID assessmentId);
+}
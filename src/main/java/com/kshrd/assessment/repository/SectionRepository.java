@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -16,4 +17,7 @@ public interface SectionRepository extends JpaRepository<Section, UUID> {
     
     @Query("SELECT DISTINCT s FROM Section s LEFT JOIN FETCH s.questions WHERE s.assessment.assessment_id = :assessmentId")
     List<Section> findByAssessmentIdWithQuestions(UUID assessmentId);
+    
+    @Query("SELECT s.assessment.contentVersion FROM Section s WHERE s.section_id = :sectionId")
+    Optional<Long> findContentVersion(UUID sectionId);
 }
@@ -36,6 +36,8 @@ public interface StudentAssessmentRepository extends JpaRepository<StudentAssess
     
     boolean existsByStudentIdAndAssessmentId(UUID studentId, UUID assessmentId);
     
+    boolean existsByAssessmentId(UUID assessmentId);
+    
     @Query("SELECT sa FROM StudentAssessment sa WHERE sa.status = 'IN_PROGRESS' AND sa.endsAt <= :now")
     List<StudentAssessment> findInProgressWithEndsAtBefore(@Param("now") OffsetDateTime now);
 }
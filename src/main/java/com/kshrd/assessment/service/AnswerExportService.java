@@ -0,0 +1,168 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.exception.ResourceNotFoundException;
+import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.utils.enums.ExportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Streams every answer of an assessment as NDJSON or CSV.
+ *
+ * Rows are read through a forward-only cursor (Postgres only honours the fetch size inside a transaction) and
+ * written as they arrive, with the jsonb answer copied as raw bytes, so memory stays flat whatever the row count.
+ * There is deliberately no ORDER BY: a sort would hold back the first row until the whole set is read.
+ */
+@Service
+@Slf4j
+public class AnswerExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT a.answer_id, sa.student_id, a.question_id, a.score, a.saved_at, a.answer
+            FROM answer a
+            JOIN student_assessment sa ON sa.attempt_id = a.attempt_id
+            WHERE sa.assessment_id = ?
+            """;
+
+    private static final byte[] CSV_HEADER = "answer_id,student_id,question_id,score,saved_at,answer\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_JSON = "null".getBytes(StandardCharsets.UTF_8);
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    private final AssessmentRepository assessmentRepository;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AnswerExportService(
+            AssessmentRepository assessmentRepository,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${assessment.answers.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.assessmentRepository = assessmentRepository;
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks the assessment up front, so a missing one is still reported as a normal 404, and returns a body
+     * that runs the query while the response is being written.
+     */
+    public StreamingResponseBody exportAnswers(UUID assessmentId, ExportFormat format) {
+        if (!assessmentRepository.existsById(assessmentId)) {
+            throw new ResourceNotFoundException("Assessment", assessmentId.toString());
+        }
+        return outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, OUTPUT_BUFFER_BYTES);
+            if (format == ExportFormat.CSV) {
+                out.write(CSV_HEADER);
+                out.flush();
+            }
+            long[] rows = {0};
+            try {
+                readOnlyTransaction.executeWithoutResult(status ->
+                        cursorJdbcTemplate.query(EXPORT_SQL, rs -> {
+                            writeRow(rs, format, out);
+                            rows[0]++;
+                        }, assessmentId));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            log.info("Exported {} answers of assessment {} as {}", rows[0], assessmentId, format);
+        };
+    }
+
+    private static void writeRow(ResultSet rs, ExportFormat format, OutputStream out) throws SQLException {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(rs, out);
+            } else {
+                writeNdjsonRow(rs, out);
+            }
+        } catch (IOException e) {
+            // Client went away, abort the cursor instead of reading the rest of the table
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNdjsonRow(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        ascii(out, "{\"answerId\":\"");
+        ascii(out, rs.getString("answer_id"));
+        ascii(out, "\",\"studentId\":\"");
+        ascii(out, rs.getString("student_id"));
+        ascii(out, "\",\"questionId\":\"");
+        ascii(out, rs.getString("question_id"));
+        ascii(out, "\",\"score\":");
+        String score = rs.getString("score");
+        ascii(out, score != null ? score : "null");
+        ascii(out, ",\"savedAt\":");
+        String savedAt = rs.getString("saved_at");
+        if (savedAt != null) {
+            ascii(out, "\"" + savedAt + "\"");
+        } else {
+            ascii(out, "null");
+        }
+        ascii(out, ",\"answer\":");
+        byte[] answer = rs.getBytes("answer");
+        out.write(answer != null ? answer : NULL_JSON);
+        out.write('}');
+        out.write('\n');
+    }
+
+    private static void writeCsvRow(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        ascii(out, rs.getString("answer_id"));
+        out.write(',');
+        ascii(out, rs.getString("student_id"));
+        out.write(',');
+        ascii(out, rs.getString("question_id"));
+        out.write(',');
+        String score = rs.getString("score");
+        if (score != null) {
+            ascii(out, score);
+        }
+        out.write(',');
+        String savedAt = rs.getString("saved_at");
+        if (savedAt != null) {
+            ascii(out, savedAt);
+        }
+        out.write(',');
+        byte[] answer = rs.getBytes("answer");
+        if (answer != null) {
+            // '"' is a single byte in UTF-8 and never part of a multi-byte sequence, so escaping bytes is safe
+            out.write('"');
+            int from = 0;
+            for (int i = 0; i < answer.length; i++) {
+                if (answer[i] == '"') {
+                    out.write(answer, from, i - from + 1);
+                    out.write('"');
+                    from = i + 1;
+                }
+            }
+            out.write(answer, from, answer.length - from);
+            out.write('"');
+        }
+        out.write('\n');
+    }
+
+    private static void ascii(OutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
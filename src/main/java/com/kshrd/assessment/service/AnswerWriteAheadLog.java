@@ -0,0 +1,162 @@
+package com.kshrd.assessment.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped append-only log of opaque records.
+ *
+ * Layout: {@code [int length][int crc32][payload]...[int 0]}. Replay stops at the zero terminator or at the
+ * first record whose checksum does not match, so a record torn by a crash is dropped instead of corrupting
+ * the ones before it. The live log is never rewritten in place: a compacted image is written to a sibling
+ * file, forced to disk and renamed over the log, so a crash at any point leaves one complete log behind.
+ * Not thread-safe, callers serialize access.
+ */
+final class AnswerWriteAheadLog implements Closeable {
+
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path path;
+    private final Path compactPath;
+    private final long capacityBytes;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    AnswerWriteAheadLog(Path path, long capacityBytes) throws IOException {
+        if (capacityBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Write-ahead log cannot exceed 2 GB");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        this.capacityBytes = capacityBytes;
+        // Left over by a crash before the rename, the log it was meant to replace is still complete
+        Files.deleteIfExists(compactPath);
+        map();
+    }
+
+    /**
+     * Reads every intact record from the start of the log and leaves the write position after the last one.
+     */
+    List<byte[]> replay() {
+        List<byte[]> records = new ArrayList<>();
+        buffer.position(0);
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() - Integer.BYTES) {
+                buffer.position(start);
+                break;
+            }
+            int checksum = buffer.getInt();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if (checksum != checksum(payload)) {
+                buffer.position(start);
+                break;
+            }
+            records.add(payload);
+        }
+        terminate(buffer);
+        return records;
+    }
+
+    boolean hasRoom(byte[] payload) {
+        return buffer.remaining() >= RECORD_HEADER_BYTES + payload.length + Integer.BYTES;
+    }
+
+    void append(byte[] payload) {
+        put(buffer, payload);
+    }
+
+    /**
+     * Replaces the log with one holding only the given records, used to drop records that are already in the
+     * database. The new image is durable before it replaces the old one.
+     */
+    void rewrite(List<byte[]> payloads) throws IOException {
+        Files.deleteIfExists(compactPath);
+        int end;
+        try (FileChannel out = FileChannel.open(compactPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer image = out.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            for (byte[] payload : payloads) {
+                if (image.remaining() < RECORD_HEADER_BYTES + payload.length + Integer.BYTES) {
+                    throw new IOException("Compacted write-ahead log does not fit in " + capacityBytes + " bytes");
+                }
+                put(image, payload);
+            }
+            image.force();
+            end = image.position();
+        } catch (IOException e) {
+            Files.deleteIfExists(compactPath);
+            throw e;
+        }
+        Files.move(compactPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory();
+
+        channel.close();
+        map();
+        buffer.position(end);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), capacityBytes);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Write-ahead log cannot exceed 2 GB");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // Makes the rename itself durable; not every platform can open a directory, there the rename is best effort
+    private void forceDirectory() {
+        Path parent = path.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // ignored, see above
+        }
+    }
+
+    private static void put(ByteBuffer target, byte[] payload) {
+        target.putInt(payload.length);
+        target.putInt(checksum(payload));
+        target.put(payload);
+        terminate(target);
+    }
+
+    private static void terminate(ByteBuffer target) {
+        if (target.remaining() >= Integer.BYTES) {
+            target.putInt(target.position(), 0);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,475 @@
+package com.kshrd.assessment.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.assessment.repository.AnswerJdbcRepository;
+import com.kshrd.assessment.repository.AnswerJdbcRepository.AnswerUpsert;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind mode for student autosaves.
+ *
+ * A save is acknowledged once it is appended to a local memory-mapped log and coalesced in memory per
+ * (attemptId, questionId). Pending answers reach the answer table in batched upserts on a timer, and
+ * synchronously for one attempt when it is read, submitted or expired. Answers are kept per attempt behind the
+ * attempt's own lock, so flushing one attempt never waits for another attempt or for the timer flush. The log
+ * is replayed on startup so an acknowledged save survives a crash; a one-attempt flush appends a marker that
+ * drops the attempt's earlier records on replay, and the timer flush compacts the log so it only holds answers
+ * not yet in the database. Rows are only written while their attempt is IN_PROGRESS, an autosave that slipped
+ * in after submit is dropped. Flushes commit in a transaction of their own, so callers flush before opening
+ * theirs; flushing inside one would hold a second pooled connection for the length of the flush.
+ */
+@Service
+@Slf4j
+public class AnswerWriteBehindBuffer {
+
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final int ID_BYTES = Long.BYTES * 4;
+    // A record of just an attempt id marks that attempt as flushed, answer records always carry both ids
+    private static final int FLUSHED_MARKER_BYTES = Long.BYTES * 2;
+    private static final TypeReference<Map<String, Object>> ANSWER_TYPE = new TypeReference<>() {
+    };
+
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    private record AnswerKey(UUID attemptId, UUID questionId) {
+    }
+
+    private record PendingAnswer(long sequence, Map<String, Object> answer, byte[] payload) {
+    }
+
+    private static final class AttemptAnswers {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<UUID, PendingAnswer> answers = new ConcurrentHashMap<>();
+        // Set under the lock once the attempt was removed from the map, a saver holding it must start over
+        private boolean retired;
+    }
+
+    private final AnswerJdbcRepository answerJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxBufferedAnswers;
+    private final FsyncPolicy fsyncPolicy;
+    private final Path logPath;
+    private final long logCapacityBytes;
+
+    private final ConcurrentHashMap<UUID, AttemptAnswers> attempts = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock logLock = new ReentrantLock();
+    // Only serializes whole-buffer flushes with each other, one-attempt flushes never take it
+    private final ReentrantLock flushAllLock = new ReentrantLock();
+    private AnswerWriteAheadLog writeAheadLog;
+
+    public AnswerWriteBehindBuffer(
+            AnswerJdbcRepository answerJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${assessment.answers.write-behind.enabled:false}") boolean enabled,
+            @Value("${assessment.answers.write-behind.max-buffered-answers:10000}") int maxBufferedAnswers,
+            @Value("${assessment.answers.write-behind.fsync:interval}") String fsyncPolicy,
+            @Value("${assessment.answers.write-behind.log-path:./data/answer-wal.log}") String logPath,
+            @Value("${assessment.answers.write-behind.log-size-mb:64}") int logSizeMb
+    ) {
+        this.answerJdbcRepository = answerJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBufferedAnswers = maxBufferedAnswers;
+        this.fsyncPolicy = FsyncPolicy.valueOf(fsyncPolicy.trim().toUpperCase());
+        this.logPath = Path.of(logPath);
+        this.logCapacityBytes = (long) logSizeMb * 1024 * 1024;
+    }
+
+    @PostConstruct
+    void openLog() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        writeAheadLog = new AnswerWriteAheadLog(logPath, logCapacityBytes);
+        List<byte[]> records = writeAheadLog.replay();
+        for (byte[] payload : records) {
+            if (payload.length == FLUSHED_MARKER_BYTES) {
+                AttemptAnswers flushed = attempts.remove(decodeAttemptId(payload));
+                if (flushed != null) {
+                    pendingCount.addAndGet(-flushed.answers.size());
+                }
+                continue;
+            }
+            AnswerKey key = decodeKey(payload);
+            PendingAnswer previous = attempts.computeIfAbsent(key.attemptId(), id -> new AttemptAnswers()).answers
+                    .put(key.questionId(), new PendingAnswer(sequence.incrementAndGet(), decodeAnswer(payload), payload));
+            if (previous == null) {
+                pendingCount.incrementAndGet();
+            }
+        }
+        log.info("Answer write-behind enabled (fsync={}, log={}), replayed {} records into {} pending answers",
+                fsyncPolicy, logPath.toAbsolutePath(), records.size(), pendingCount.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void flushRecoveredAnswers() {
+        if (enabled && pendingCount.get() > 0) {
+            log.info("Flushing {} answers recovered from the write-ahead log", pendingCount.get());
+            scheduledFlush();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void save(UUID attemptId, UUID questionId, Map<String, Object> answer) {
+        if (!enabled) {
+            throw new IllegalStateException("Answer write-behind mode is disabled");
+        }
+        if (pendingCount.get() >= maxBufferedAnswers) {
+            flushAll();
+        }
+
+        AnswerKey key = new AnswerKey(attemptId, questionId);
+        byte[] payload = encode(key, answer);
+        if (!tryAppend(key, answer, payload)) {
+            flushAll();
+            if (!tryAppend(key, answer, payload)) {
+                throw new IllegalStateException("Autosave log is full, please retry");
+            }
+        }
+    }
+
+    public Optional<Map<String, Object>> findPending(UUID attemptId, UUID questionId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        AttemptAnswers pending = attempts.get(attemptId);
+        return Optional.ofNullable(pending != null ? pending.answers.get(questionId) : null).map(PendingAnswer::answer);
+    }
+
+    /**
+     * Writes the buffered answers of one attempt, e.g. before they are read back or the attempt is closed.
+     */
+    public void flushAttempt(UUID attemptId) {
+        if (!enabled) {
+            return;
+        }
+        AttemptAnswers pending = attempts.get(attemptId);
+        if (pending == null) {
+            return;
+        }
+        pending.lock.lock();
+        try {
+            if (pending.retired || pending.answers.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<AnswerKey, PendingAnswer>> batch = new ArrayList<>(pending.answers.size());
+            pending.answers.forEach((questionId, answer) -> batch.add(Map.entry(new AnswerKey(attemptId, questionId), answer)));
+            write(batch);
+            retireIfEmpty(attemptId, pending);
+            appendFlushedMarker(attemptId);
+        } finally {
+            pending.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered answers of the given attempts only, without waiting for a full flush.
+     */
+    public void flushAttempts(Collection<UUID> attemptIds) {
+        if (enabled && !attemptIds.isEmpty()) {
+            flushBatched(attemptIds, true);
+        }
+    }
+
+    public void flushAll() {
+        if (!enabled) {
+            return;
+        }
+        flushAllLock.lock();
+        try {
+            if (flushBatched(List.copyOf(attempts.keySet()), false)) {
+                checkpoint();
+            }
+        } finally {
+            flushAllLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${assessment.answers.write-behind.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        if (!enabled || pendingCount.get() == 0) {
+            return;
+        }
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush failed, {} answers stay buffered: {}", pendingCount.get(), e.getMessage());
+        }
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @PreDestroy
+    void closeLog() throws IOException {
+        if (writeAheadLog == null) {
+            return;
+        }
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush {} buffered answers on shutdown, they will be replayed on restart", pendingCount.get());
+        }
+        logLock.lock();
+        try {
+            writeAheadLog.close();
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private boolean tryAppend(AnswerKey key, Map<String, Object> answer, byte[] payload) {
+        while (true) {
+            AttemptAnswers pending = attempts.computeIfAbsent(key.attemptId(), id -> new AttemptAnswers());
+            pending.lock.lock();
+            try {
+                if (pending.retired) {
+                    continue;
+                }
+                logLock.lock();
+                try {
+                    if (!writeAheadLog.hasRoom(payload)) {
+                        compactLocked();
+                        if (!writeAheadLog.hasRoom(payload)) {
+                            retireIfEmpty(key.attemptId(), pending);
+                            return false;
+                        }
+                    }
+                    writeAheadLog.append(payload);
+                    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                        writeAheadLog.force();
+                    }
+                    if (pending.answers.put(key.questionId(), new PendingAnswer(sequence.incrementAndGet(), answer, payload)) == null) {
+                        pendingCount.incrementAndGet();
+                    }
+                    return true;
+                } finally {
+                    logLock.unlock();
+                }
+            } finally {
+                pending.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Flushes the attempts in batches of up to {@link #FLUSH_BATCH_SIZE} answers, holding the locks of the
+     * attempts in the current batch only. Attempts are locked one at a time and never while waiting for the log.
+     * With {@code markFlushed} each written attempt gets a flushed marker, callers that do not checkpoint
+     * afterwards need it so replay does not resurrect the written answers.
+     */
+    private boolean flushBatched(Collection<UUID> attemptIds, boolean markFlushed) {
+        List<Map.Entry<AnswerKey, PendingAnswer>> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        Map<UUID, AttemptAnswers> locked = new LinkedHashMap<>();
+        boolean written = false;
+        try {
+            // One global lock order, so two batched flushes cannot deadlock on each other's attempts
+            for (UUID attemptId : attemptIds.stream().sorted().toList()) {
+                AttemptAnswers pending = attempts.get(attemptId);
+                if (pending == null) {
+                    continue;
+                }
+                pending.lock.lock();
+                if (pending.retired || pending.answers.isEmpty()) {
+                    pending.lock.unlock();
+                    continue;
+                }
+                locked.put(attemptId, pending);
+                pending.answers.forEach((questionId, answer) -> batch.add(Map.entry(new AnswerKey(attemptId, questionId), answer)));
+                if (batch.size() >= FLUSH_BATCH_SIZE) {
+                    writeAndRelease(batch, locked, markFlushed);
+                    written = true;
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeAndRelease(batch, locked, markFlushed);
+                written = true;
+            }
+        } finally {
+            locked.values().forEach(pending -> pending.lock.unlock());
+        }
+        return written;
+    }
+
+    private void writeAndRelease(List<Map.Entry<AnswerKey, PendingAnswer>> batch, Map<UUID, AttemptAnswers> locked,
+                                 boolean markFlushed) {
+        write(batch);
+        batch.clear();
+        // Each attempt leaves the map before it is unlocked, so if a marker append fails the caller's finally
+        // releases exactly the attempts that are still held
+        Iterator<Map.Entry<UUID, AttemptAnswers>> held = locked.entrySet().iterator();
+        while (held.hasNext()) {
+            Map.Entry<UUID, AttemptAnswers> entry = held.next();
+            held.remove();
+            try {
+                retireIfEmpty(entry.getKey(), entry.getValue());
+                if (markFlushed) {
+                    appendFlushedMarker(entry.getKey());
+                }
+            } finally {
+                entry.getValue().lock.unlock();
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<AnswerKey, PendingAnswer>> batch) {
+        List<AnswerUpsert> rows = batch.stream()
+                .map(entry -> new AnswerUpsert(entry.getKey().attemptId(), entry.getKey().questionId(), entry.getValue().answer()))
+                .toList();
+        int written;
+        try {
+            written = transactionTemplate.execute(status -> answerJdbcRepository.upsertAllInProgress(rows)).size();
+        } catch (DataIntegrityViolationException e) {
+            // One bad row (e.g. a question deleted meanwhile) must not block the rest of the batch forever
+            log.warn("Batched answer flush rejected, retrying {} answers one by one: {}", rows.size(), e.getMessage());
+            written = 0;
+            for (AnswerUpsert row : rows) {
+                try {
+                    written += transactionTemplate.execute(status -> answerJdbcRepository.upsertAllInProgress(List.of(row))).size();
+                } catch (DataIntegrityViolationException rowFailure) {
+                    log.error("Dropping buffered answer for attempt {} and question {}: {}",
+                            row.attemptId(), row.questionId(), rowFailure.getMessage());
+                }
+            }
+        }
+        if (written < rows.size()) {
+            log.info("Dropped {} buffered answers of attempts no longer in progress", rows.size() - written);
+        }
+        for (Map.Entry<AnswerKey, PendingAnswer> entry : batch) {
+            AttemptAnswers pending = attempts.get(entry.getKey().attemptId());
+            if (pending != null && pending.answers.remove(entry.getKey().questionId(), entry.getValue())) {
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    // Caller holds the attempt's lock
+    private void retireIfEmpty(UUID attemptId, AttemptAnswers pending) {
+        if (pending.answers.isEmpty()) {
+            pending.retired = true;
+            attempts.remove(attemptId, pending);
+        }
+    }
+
+    // Caller holds the attempt's lock, so no newer save of the attempt can sit in the log before the marker
+    private void appendFlushedMarker(UUID attemptId) {
+        byte[] marker = ByteBuffer.allocate(FLUSHED_MARKER_BYTES)
+                .putLong(attemptId.getMostSignificantBits())
+                .putLong(attemptId.getLeastSignificantBits())
+                .array();
+        logLock.lock();
+        try {
+            if (!writeAheadLog.hasRoom(marker)) {
+                compactLocked();
+            }
+            if (writeAheadLog.hasRoom(marker)) {
+                writeAheadLog.append(marker);
+            }
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void checkpoint() {
+        logLock.lock();
+        try {
+            compactLocked();
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                writeAheadLog.force();
+            }
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void compactLocked() {
+        List<byte[]> payloads = attempts.values().stream()
+                .flatMap(pending -> pending.answers.values().stream())
+                .sorted((a, b) -> Long.compare(a.sequence(), b.sequence()))
+                .map(PendingAnswer::payload)
+                .toList();
+        try {
+            writeAheadLog.rewrite(payloads);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact the answer write-ahead log", e);
+        }
+    }
+
+    private byte[] encode(AnswerKey key, Map<String, Object> answer) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(answer);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Answer content is not valid JSON", e);
+        }
+        return ByteBuffer.allocate(ID_BYTES + json.length)
+                .putLong(key.attemptId().getMostSignificantBits())
+                .putLong(key.attemptId().getLeastSignificantBits())
+                .putLong(key.questionId().getMostSignificantBits())
+                .putLong(key.questionId().getLeastSignificantBits())
+                .put(json)
+                .array();
+    }
+
+    private static UUID decodeAttemptId(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static AnswerKey decodeKey(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new AnswerKey(new UUID(buffer.getLong(), buffer.getLong()), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    private Map<String, Object> decodeAnswer(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, ID_BYTES, payload.length - ID_BYTES, ANSWER_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt answer record in write-ahead log", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.kshrd.assessment.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Set-based writes behind classroom rosters and classroom-wide assessment assignment.
+ *
+ * Every operation is one INSERT ... SELECT over uuid arrays, so assigning 20 exams to 2,000 students is a
+ * single statement that creates 40,000 attempts inside Postgres. Existing rows are skipped through the unique
+ * keys with ON CONFLICT DO NOTHING, which makes every call safe to repeat. Callers check ownership first.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class AssignmentFanOut {
+
+    private static final String ADD_TO_ROSTER_SQL = """
+            INSERT INTO classroom_student (id, classroom_id, student_id, added_at)
+            SELECT gen_random_uuid(), ?, s.student_id, now() AT TIME ZONE 'UTC'
+            FROM (SELECT DISTINCT unnest(?::uuid[]) AS student_id) s
+            ON CONFLICT (classroom_id, student_id) DO NOTHING
+            """;
+
+    private static final String LINK_CLASSROOMS_SQL = """
+            INSERT INTO assessment_classroom (id, assessment_id, classroom_id, assigned_at)
+            SELECT gen_random_uuid(), a.assessment_id, c.classroom_id, now() AT TIME ZONE 'UTC'
+            FROM (SELECT DISTINCT unnest(?::uuid[]) AS classroom_id) c
+            CROSS JOIN (SELECT DISTINCT unnest(?::uuid[]) AS assessment_id) a
+            ON CONFLICT (assessment_id, classroom_id) DO NOTHING
+            """;
+
+    // Same defaults as StudentAssessmentServiceImpl.assignAssessment
+    private static final String CREATE_ATTEMPTS_SQL = """
+            INSERT INTO student_assessment (attempt_id, student_id, assessment_id, attempt_no, status,
+                                            duration_in_minute, total_score, score, grading_status)
+            SELECT gen_random_uuid(), r.student_id, a.assessment_id, 1, 'NOT_STARTED', 0, 0, 0, 'not graded'
+            FROM (SELECT DISTINCT student_id FROM classroom_student WHERE classroom_id = ANY(?)) r
+            CROSS JOIN (SELECT DISTINCT unnest(?::uuid[]) AS assessment_id) a
+            ON CONFLICT (student_id, assessment_id, attempt_no) DO NOTHING
+            """;
+
+    // Students joining a roster get a first attempt at every live exam already linked to the classroom
+    private static final String CREATE_LINKED_ATTEMPTS_SQL = """
+            INSERT INTO student_assessment (attempt_id, student_id, assessment_id, attempt_no, status,
+                                            duration_in_minute, total_score, score, grading_status)
+            SELECT gen_random_uuid(), r.student_id, ac.assessment_id, 1, 'NOT_STARTED', 0, 0, 0, 'not graded'
+            FROM classroom_student r
+            JOIN assessment_classroom ac ON ac.classroom_id = r.classroom_id
+            JOIN assessments a ON a.assessment_id = ac.assessment_id AND a.deleted_at IS NULL
+            WHERE r.classroom_id = ? AND r.student_id = ANY(?)
+            ON CONFLICT (student_id, assessment_id, attempt_no) DO NOTHING
+            """;
+
+    public record Assigned(int classroomLinksCreated, int attemptsCreated) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the students to the roster and gives each a first attempt at the assessments already linked to the
+     * classroom.
+     *
+     * @return how many students were not on the roster yet
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int addToRoster(UUID classroomId, Collection<UUID> studentIds) {
+        int added = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ADD_TO_ROSTER_SQL);
+            ps.setObject(1, classroomId);
+            ps.setArray(2, connection.createArrayOf("uuid", studentIds.toArray()));
+            return ps;
+        });
+        int attempts = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CREATE_LINKED_ATTEMPTS_SQL);
+            ps.setObject(1, classroomId);
+            ps.setArray(2, connection.createArrayOf("uuid", studentIds.toArray()));
+            return ps;
+        });
+        log.info("Added {} students to classroom {}: {} attempts created for its assessments", added, classroomId, attempts);
+        return added;
+    }
+
+    /**
+     * Links every classroom to every assessment and gives every rostered student a first attempt at each.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Assigned assign(Collection<UUID> classroomIds, Collection<UUID> assessmentIds) {
+        int links = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LINK_CLASSROOMS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", classroomIds.toArray()));
+            ps.setArray(2, connection.createArrayOf("uuid", assessmentIds.toArray()));
+            return ps;
+        });
+        int attempts = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CREATE_ATTEMPTS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", classroomIds.toArray()));
+            ps.setArray(2, connection.createArrayOf("uuid", assessmentIds.toArray()));
+            return ps;
+        });
+        log.info("Assigned {} assessments to {} classrooms: {} links and {} attempts created",
+                assessmentIds.size(), classroomIds.size(), links, attempts);
+        return new Assigned(links, attempts);
+    }
+}
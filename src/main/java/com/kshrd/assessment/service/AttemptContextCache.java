@@ -0,0 +1,209 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.monitoring.CacheStats;
+import com.kshrd.assessment.entity.StudentAssessment;
+import com.kshrd.assessment.repository.StudentAssessmentRepository;
+import com.kshrd.assessment.utils.enums.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process cache of the attempt state every student answer call needs: attemptId, status and
+ * window end, keyed by (studentId, assessmentId).
+ *
+ * Entries are evicted least-recently-used once the cache is full and after a fixed time to live. Every status
+ * transition must call {@link #invalidate}; it evicts immediately and again after the surrounding transaction
+ * commits, and leaves a short-lived tombstone on the key. A load that overlaps an invalidation of its own key is
+ * returned but never cached, so the status guard can not observe a state older than the last committed
+ * transition, while loads of every other key keep filling the cache.
+ */
+@Service
+public class AttemptContextCache {
+
+    public record AttemptContext(
+            UUID attemptId,
+            UUID studentId,
+            UUID assessmentId,
+            Status status,
+            OffsetDateTime endsAt
+    ) {
+        public boolean isOpen() {
+            return status == Status.IN_PROGRESS
+                    && (endsAt == null || OffsetDateTime.now().isBefore(endsAt));
+        }
+
+        public static AttemptContext of(StudentAssessment studentAssessment) {
+            return new AttemptContext(
+                    studentAssessment.getAttemptId(),
+                    studentAssessment.getStudentId(),
+                    studentAssessment.getAssessmentId(),
+                    studentAssessment.getStatus(),
+                    studentAssessment.getEndsAt()
+            );
+        }
+    }
+
+    private record Key(UUID studentId, UUID assessmentId) {
+    }
+
+    private record Entry(AttemptContext context, long expiresAtNanos) {
+    }
+
+    /**
+     * Taken before loading rows that will be {@link #put} later; a key invalidated after it was taken is not cached.
+     */
+    public record LoadStamp(long version, long startedNanos) {
+    }
+
+    private record Tombstone(long version, long createdNanos) {
+    }
+
+    // Loads are single queries; one that outlives the tombstones it must be checked against is not cached
+    private static final long TOMBSTONE_RETENTION_NANOS = 60_000_000_000L;
+
+    private final StudentAssessmentRepository studentAssessmentRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Insertion ordered, so the oldest tombstones are pruned from the head
+    private final LinkedHashMap<Key, Tombstone> tombstones = new LinkedHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AttemptContextCache(
+            StudentAssessmentRepository studentAssessmentRepository,
+            @Value("${assessment.cache.attempt-context.max-size:50000}") int maxSize,
+            @Value("${assessment.cache.attempt-context.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.studentAssessmentRepository = studentAssessmentRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public Optional<AttemptContext> find(UUID studentId, UUID assessmentId) {
+        Key key = new Key(studentId, assessmentId);
+        AttemptContext cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        LoadStamp stamp = stamp();
+        Optional<AttemptContext> loaded = studentAssessmentRepository
+                .findByStudentIdAndAssessmentId(studentId, assessmentId)
+                .map(AttemptContext::of);
+        loaded.ifPresent(context -> putIfUnchanged(key, context, stamp));
+        return loaded;
+    }
+
+    public LoadStamp stamp() {
+        return new LoadStamp(version.get(), System.nanoTime());
+    }
+
+    /**
+     * Seeds the cache from a row the caller already loaded, e.g. when pre-warming an exam. {@code stamp} must
+     * have been taken before the row was loaded.
+     */
+    public void put(StudentAssessment studentAssessment, LoadStamp stamp) {
+        putIfUnchanged(new Key(studentAssessment.getStudentId(), studentAssessment.getAssessmentId()),
+                AttemptContext.of(studentAssessment), stamp);
+    }
+
+    public void invalidate(UUID studentId, UUID assessmentId) {
+        Key key = new Key(studentId, assessmentId);
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AttemptContext get(Key key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry.context();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putIfUnchanged(Key key, AttemptContext context, LoadStamp stamp) {
+        lock.lock();
+        try {
+            if (System.nanoTime() - stamp.startedNanos() > TOMBSTONE_RETENTION_NANOS) {
+                return;
+            }
+            // An invalidation of this key raced with the load, the loaded row may predate the transition
+            Tombstone tombstone = tombstones.get(key);
+            if (tombstone != null && tombstone.version() > stamp.version()) {
+                return;
+            }
+            entries.put(key, new Entry(context, System.nanoTime() + ttlNanos));
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(Key key) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tombstones.remove(key);
+            tombstones.put(key, new Tombstone(version.incrementAndGet(), now));
+            Iterator<Tombstone> oldest = tombstones.values().iterator();
+            while (oldest.hasNext() && now - oldest.next().createdNanos() > TOMBSTONE_RETENTION_NANOS) {
+                oldest.remove();
+            }
+            entries.remove(key);
+            invalidations.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kshrd.assessment.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hierarchical timing wheel of attempt deadlines with one-second ticks.
+ *
+ * Four levels of 64 slots cover 64, 64^2, 64^3 and 64^4 seconds (about 194 days). A deadline is placed on the
+ * lowest level whose span reaches it and moves down one level each time its slot comes round, so adding and
+ * firing are O(1) regardless of how many attempts are waiting. Deadlines beyond the last level wait in an
+ * overflow list that is re-examined whenever the top level turns. Entries are never removed: a rescheduled or
+ * submitted attempt simply fires as a no-op, the expiry UPDATE re-checks status and ends_at.
+ */
+final class AttemptExpiryWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private record Timer(UUID attemptId, long deadline) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private final List<Timer>[][] wheels = new List[LEVELS][SLOTS];
+    private List<Timer> overflow = new ArrayList<>();
+    private List<Timer> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param startSecond epoch second the wheel starts at, deadlines at or before it fire on the first tick
+     */
+    AttemptExpiryWheel(long startSecond) {
+        this.currentTick = startSecond;
+    }
+
+    synchronized void schedule(UUID attemptId, long deadlineSecond) {
+        place(new Timer(attemptId, deadlineSecond));
+        size++;
+    }
+
+    /**
+     * Turns the wheel up to {@code nowSecond}, catching up on any missed ticks, and returns the attempts whose
+     * deadline has passed.
+     */
+    synchronized List<UUID> advanceTo(long nowSecond) {
+        List<UUID> expired = new ArrayList<>();
+        while (currentTick < nowSecond) {
+            currentTick++;
+            cascade();
+            List<Timer> slot = wheels[0][(int) (currentTick & SLOT_MASK)];
+            if (slot != null) {
+                wheels[0][(int) (currentTick & SLOT_MASK)] = null;
+                slot.forEach(timer -> expired.add(timer.attemptId()));
+            }
+        }
+        if (!due.isEmpty()) {
+            due.forEach(timer -> expired.add(timer.attemptId()));
+            due = new ArrayList<>();
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void cascade() {
+        // Highest level first, so timers it hands down land in slots that are still ahead of the hand
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                continue;
+            }
+            if (level == LEVELS - 1 && !overflow.isEmpty()) {
+                List<Timer> waiting = overflow;
+                overflow = new ArrayList<>();
+                waiting.forEach(this::place);
+            }
+            int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            List<Timer> slot = wheels[level][index];
+            if (slot != null) {
+                wheels[level][index] = null;
+                slot.forEach(this::place);
+            }
+        }
+    }
+
+    private void place(Timer timer) {
+        long delta = timer.deadline() - currentTick;
+        if (delta <= 0) {
+            due.add(timer);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int index = (int) ((timer.deadline() >>> (SLOT_BITS * level)) & SLOT_MASK);
+                List<Timer> slot = wheels[level][index];
+                if (slot == null) {
+                    slot = new ArrayList<>();
+                    wheels[level][index] = slot;
+                }
+                slot.add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+}
@@ -0,0 +1,124 @@
+package com.kshrd.assessment.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-exam cache with a size bound and an idle timeout, for the compiled views of exam content.
+ *
+ * Entries are replaced as a whole after a content change. A lazy load that read the old rows must not
+ * overwrite the new value, even when the new value was evicted meanwhile, so each change is remembered with a
+ * sequence number for the idle time and a load only caches its result if no change of its exam came after it
+ * started reading. Callers run {@link #evictIdle()} periodically.
+ */
+final class BoundedExamCache<V> {
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    private record Change(long sequence, long atNanos) {
+    }
+
+    private final int maxSize;
+    private final long idleNanos;
+    private final ConcurrentHashMap<UUID, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    BoundedExamCache(int maxSize, long idleMinutes) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.idleNanos = idleMinutes * 60_000_000_000L;
+    }
+
+    /**
+     * Returns the cached value, or loads one. Results the caller does not want cached (e.g. the empty view of
+     * an unknown exam) are returned without being stored.
+     */
+    V get(UUID assessmentId, Supplier<V> loader, Predicate<V> cacheable) {
+        Entry<V> entry = entries.get(assessmentId);
+        if (entry != null) {
+            entry.lastAccessNanos = System.nanoTime();
+            return entry.value;
+        }
+        long stamp = sequence.get();
+        V loaded = loader.get();
+        if (!cacheable.test(loaded)) {
+            return loaded;
+        }
+        Entry<V> winner = entries.compute(assessmentId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            Change change = changes.get(id);
+            return change != null && change.sequence() > stamp ? null : new Entry<>(loaded);
+        });
+        if (winner == null) {
+            return loaded;
+        }
+        evictIfFull(assessmentId);
+        return winner.value;
+    }
+
+    /**
+     * Replaces the exam's value after a committed change, {@code null} drops it.
+     */
+    void replace(UUID assessmentId, V value) {
+        changes.put(assessmentId, new Change(sequence.incrementAndGet(), System.nanoTime()));
+        if (value == null) {
+            entries.remove(assessmentId);
+            return;
+        }
+        entries.put(assessmentId, new Entry<>(value));
+        evictIfFull(assessmentId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops values nobody read within the idle time, and change records old enough that no load can still be
+     * running from before them.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        entries.forEach((id, entry) -> {
+            if (now - entry.lastAccessNanos > idleNanos) {
+                entries.remove(id, entry);
+            }
+        });
+        changes.forEach((id, change) -> {
+            if (now - change.atNanos() > idleNanos) {
+                changes.remove(id, change);
+            }
+        });
+    }
+
+    private void evictIfFull(UUID keep) {
+        while (entries.size() > maxSize) {
+            Map.Entry<UUID, Entry<V>> eldest = null;
+            for (Map.Entry<UUID, Entry<V>> candidate : entries.entrySet()) {
+                if (!candidate.getKey().equals(keep)
+                        && (eldest == null || candidate.getValue().lastAccessNanos - eldest.getValue().lastAccessNanos < 0)) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null || !entries.remove(eldest.getKey(), eldest.getValue())) {
+                return;
+            }
+        }
+    }
+}
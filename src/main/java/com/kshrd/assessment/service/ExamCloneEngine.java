@@ -0,0 +1,114 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.exam.ClonedExamResponse;
+import com.kshrd.assessment.exception.ResourceNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Deep-copies exams (assessment, sections, questions) inside Postgres.
+ *
+ * New ids are drawn up front into two remapping tables, old id -> new id, and every level is then copied with
+ * one INSERT ... SELECT joined through them. Cloning costs the same handful of statements whether it copies
+ * one exam of ten questions or a semester of exams; no row, jsonb content included, passes through the JVM.
+ * The copies keep the source schedule and are owned by the caller.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ExamCloneEngine {
+
+    // ON COMMIT DROP ties the tables to the transaction, the truncate covers a second clone in the same one
+    private static final String CREATE_MAPS_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS clone_assessment_map (old_id uuid PRIMARY KEY, new_id uuid NOT NULL) ON COMMIT DROP;
+            CREATE TEMP TABLE IF NOT EXISTS clone_section_map (old_id uuid PRIMARY KEY, new_id uuid NOT NULL, new_assessment_id uuid NOT NULL) ON COMMIT DROP;
+            TRUNCATE clone_assessment_map, clone_section_map
+            """;
+
+    private static final String MAP_ASSESSMENTS_SQL = """
+            INSERT INTO clone_assessment_map (old_id, new_id)
+            SELECT a.assessment_id, gen_random_uuid() FROM assessments a WHERE a.assessment_id = ANY(?) AND a.deleted_at IS NULL
+            """;
+
+    private static final String COPY_ASSESSMENTS_SQL = """
+            INSERT INTO assessments (assessment_id, name, is_quiz, subject_id, assessment_date, start_time, end_time,
+                                     starts_at, ends_at, created_by, updated_by, created_at, updated_at)
+            SELECT m.new_id, a.name || ?, a.is_quiz, a.subject_id, a.assessment_date, a.start_time, a.end_time,
+                   a.starts_at, a.ends_at, ?, ?, ?, ?
+            FROM assessments a JOIN clone_assessment_map m ON m.old_id = a.assessment_id
+            """;
+
+    private static final String MAP_SECTIONS_SQL = """
+            INSERT INTO clone_section_map (old_id, new_id, new_assessment_id)
+            SELECT s.section_id, gen_random_uuid(), m.new_id
+            FROM sections s JOIN clone_assessment_map m ON m.old_id = s.assessment_id
+            """;
+
+    private static final String COPY_SECTIONS_SQL = """
+            INSERT INTO sections (section_id, section_name, assessment_id)
+            SELECT m.new_id, s.section_name, m.new_assessment_id
+            FROM sections s JOIN clone_section_map m ON m.old_id = s.section_id
+            """;
+
+    private static final String COPY_QUESTIONS_SQL = """
+            INSERT INTO questions (question_id, question_type, image, question_content, points, section_id)
+            SELECT gen_random_uuid(), q.question_type, q.image, q.question_content, q.points, m.new_id
+            FROM questions q JOIN clone_section_map m ON m.old_id = q.section_id
+            """;
+
+    private static final String MAPPED_ASSESSMENTS_SQL = "SELECT old_id, new_id FROM clone_assessment_map";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Clones every exam in {@code examIds}, appending {@code nameSuffix} to the copies' names.
+     *
+     * @throws ResourceNotFoundException if any of the exams does not exist, nothing is cloned then
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<ClonedExamResponse> cloneAll(Collection<UUID> examIds, String nameSuffix, UUID owner) {
+        Set<UUID> sources = new LinkedHashSet<>(examIds);
+        jdbcTemplate.execute(CREATE_MAPS_SQL);
+        int mapped = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(MAP_ASSESSMENTS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", sources.toArray()));
+            return ps;
+        });
+        List<ClonedExamResponse> clones = jdbcTemplate.query(MAPPED_ASSESSMENTS_SQL, (rs, rowNum) -> new ClonedExamResponse(
+                rs.getObject("old_id", UUID.class),
+                rs.getObject("new_id", UUID.class)
+        ));
+        if (mapped != sources.size()) {
+            clones.forEach(clone -> sources.remove(clone.sourceExamId()));
+            throw new ResourceNotFoundException("Exam", sources.iterator().next());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(COPY_ASSESSMENTS_SQL, nameSuffix, owner, owner, now, now);
+        jdbcTemplate.update(MAP_SECTIONS_SQL);
+        int sections = jdbcTemplate.update(COPY_SECTIONS_SQL);
+        int questions = jdbcTemplate.update(COPY_QUESTIONS_SQL);
+        log.info("Cloned {} exams with {} sections and {} questions", clones.size(), sections, questions);
+
+        // Hand the clones back in request order
+        Map<UUID, UUID> cloneOf = clones.stream()
+                .collect(Collectors.toMap(ClonedExamResponse::sourceExamId, ClonedExamResponse::examId));
+        return sources.stream()
+                .map(source -> new ClonedExamResponse(source, cloneOf.get(source)))
+                .toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.kshrd.assessment.service;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes an exam, its schedule, sections or questions. Listeners that
+ * cache exam content should react after commit.
+ */
+public record ExamContentChangedEvent(UUID assessmentId, boolean deleted) {
+
+    public static ExamContentChangedEvent changed(UUID assessmentId) {
+        return new ExamContentChangedEvent(assessmentId, false);
+    }
+
+    public static ExamContentChangedEvent deleted(UUID assessmentId) {
+        return new ExamContentChangedEvent(assessmentId, true);
+    }
+}
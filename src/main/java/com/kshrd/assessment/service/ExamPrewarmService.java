@@ -0,0 +1,143 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.monitoring.PrewarmReport;
+import com.kshrd.assessment.entity.Assessment;
+import com.kshrd.assessment.entity.StudentAssessment;
+import com.kshrd.assessment.exception.ResourceNotFoundException;
+import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.repository.StudentAssessmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-warm phase of the exam schedule: shortly before an exam starts, builds everything its first requests
+ * would otherwise build on the hot path.
+ *
+ * That is the student-view snapshot, the compiled answer keys, the question metadata index and the attempt
+ * context of every assigned student. Each exam is warmed once per schedule; a content change after warming
+ * drops its report so the next tick warms it again. Kept apart from {@link ExamSchedulerService} because it
+ * needs the exam service, which itself depends on the scheduler.
+ */
+@Service
+@Slf4j
+public class ExamPrewarmService {
+
+    private final AssessmentRepository assessmentRepository;
+    private final StudentAssessmentRepository studentAssessmentRepository;
+    private final IExamService examService;
+    private final GradingEngine gradingEngine;
+    private final QuestionMetadataIndex questionMetadataIndex;
+    private final AttemptContextCache attemptContextCache;
+    private final long leadMinutes;
+    private final ConcurrentHashMap<UUID, PrewarmReport> reports = new ConcurrentHashMap<>();
+
+    public ExamPrewarmService(
+            AssessmentRepository assessmentRepository,
+            StudentAssessmentRepository studentAssessmentRepository,
+            IExamService examService,
+            GradingEngine gradingEngine,
+            QuestionMetadataIndex questionMetadataIndex,
+            AttemptContextCache attemptContextCache,
+            @Value("${assessment.prewarm.lead-minutes:5}") long leadMinutes) {
+        this.assessmentRepository = assessmentRepository;
+        this.studentAssessmentRepository = studentAssessmentRepository;
+        this.examService = examService;
+        this.gradingEngine = gradingEngine;
+        this.questionMetadataIndex = questionMetadataIndex;
+        this.attemptContextCache = attemptContextCache;
+        this.leadMinutes = leadMinutes;
+    }
+
+    @Scheduled(fixedDelay = 30_000, initialDelay = 10_000)
+    public void prewarmUpcomingExams() {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Assessment assessment : assessmentRepository.findStartingBetween(now, now.plusMinutes(leadMinutes))) {
+            PrewarmReport report = reports.get(assessment.getAssessment_id());
+            if (report == null || !assessment.getStartsAt().isEqual(report.startsAt())) {
+                prewarm(assessment);
+            }
+        }
+        // Reports outlive their exam by a day so the warm-up of a finished exam can still be compared
+        reports.values().removeIf(report -> report.startsAt() != null && report.startsAt().isBefore(now.minusDays(1)));
+    }
+
+    /**
+     * Warms one exam now, regardless of its schedule.
+     */
+    public PrewarmReport prewarm(UUID assessmentId) {
+        Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment", assessmentId));
+        return prewarm(assessment);
+    }
+
+    public List<PrewarmReport> reports() {
+        return reports.values().stream()
+                .sorted(Comparator.comparing(PrewarmReport::warmedAt).reversed())
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onExamContentChanged(ExamContentChangedEvent event) {
+        reports.remove(event.assessmentId());
+    }
+
+    private PrewarmReport prewarm(Assessment assessment) {
+        UUID assessmentId = assessment.getAssessment_id();
+        OffsetDateTime warmedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        long snapshotMillis = 0;
+        long answerKeyMillis = 0;
+        long questionIndexMillis = 0;
+        long attemptsMillis = 0;
+        int snapshotBytes = 0;
+        int questions = 0;
+        int attempts = 0;
+        String error = null;
+        try {
+            long phase = System.nanoTime();
+            snapshotBytes = examService.prewarmStudentView(assessmentId).json().length;
+            snapshotMillis = millisSince(phase);
+
+            phase = System.nanoTime();
+            gradingEngine.warm(assessmentId);
+            answerKeyMillis = millisSince(phase);
+
+            phase = System.nanoTime();
+            questions = questionMetadataIndex.questionCount(assessmentId);
+            questionIndexMillis = millisSince(phase);
+
+            phase = System.nanoTime();
+            // Taken before the load, so a start that commits in between keeps its row out of the cache
+            AttemptContextCache.LoadStamp stamp = attemptContextCache.stamp();
+            List<StudentAssessment> assigned = studentAssessmentRepository.findByAssessmentId(assessmentId);
+            assigned.forEach(studentAssessment -> attemptContextCache.put(studentAssessment, stamp));
+            attempts = assigned.size();
+            attemptsMillis = millisSince(phase);
+        } catch (RuntimeException e) {
+            log.warn("Pre-warming exam {} failed", assessmentId, e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        PrewarmReport report = new PrewarmReport(assessmentId, assessment.getName(), assessment.getStartsAt(), warmedAt,
+                questions, attempts, snapshotBytes, snapshotMillis, answerKeyMillis, questionIndexMillis, attemptsMillis,
+                millisSince(start), error);
+        reports.put(assessmentId, report);
+        log.info("Pre-warmed exam {} starting at {}: {} questions, {} attempts in {} ms",
+                assessmentId, assessment.getStartsAt(), questions, attempts, report.totalMillis());
+        return report;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,146 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.repository.AssessmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges the rows of deleted exams in the background.
+ *
+ * Deleting an exam only sets assessments.deleted_at. This service then removes its rows child first (answers,
+ * attempts, classroom links, regrade jobs, questions, sections, the assessment itself) in chunks of at most
+ * chunk-size rows. Every chunk is its own short autocommit statement followed by a pause, which is longer
+ * while any exam is running, so the purge never holds locks or I/O that live exam traffic is waiting on. It runs
+ * on its own thread, a long purge never delays the shared scheduler's jobs. An interrupted purge simply resumes
+ * at the next run.
+ */
+@Service
+@Slf4j
+public class ExamPurgeService {
+
+    private static final int EXAMS_PER_RUN = 10;
+    private static final long INITIAL_DELAY_MILLIS = 30_000;
+
+    private record Step(String table, String sql) {
+    }
+
+    private static final List<Step> STEPS = List.of(
+            new Step("answer", """
+                    DELETE FROM answer WHERE answer_id IN (
+                        SELECT a.answer_id FROM answer a JOIN student_assessment sa ON sa.attempt_id = a.attempt_id
+                        WHERE sa.assessment_id = ? LIMIT ?)
+                    """),
+            new Step("student_assessment", """
+                    DELETE FROM student_assessment WHERE attempt_id IN (
+                        SELECT attempt_id FROM student_assessment WHERE assessment_id = ? LIMIT ?)
+                    """),
+            new Step("assessment_classroom", """
+                    DELETE FROM assessment_classroom WHERE id IN (
+                        SELECT id FROM assessment_classroom WHERE assessment_id = ? LIMIT ?)
+                    """),
+            new Step("regrade_job", """
+                    DELETE FROM regrade_job WHERE job_id IN (
+                        SELECT job_id FROM regrade_job WHERE assessment_id = ? LIMIT ?)
+                    """),
+            new Step("questions", """
+                    DELETE FROM questions WHERE question_id IN (
+                        SELECT q.question_id FROM questions q JOIN sections s ON s.section_id = q.section_id
+                        WHERE s.assessment_id = ? LIMIT ?)
+                    """),
+            new Step("sections", """
+                    DELETE FROM sections WHERE section_id IN (
+                        SELECT section_id FROM sections WHERE assessment_id = ? LIMIT ?)
+                    """)
+    );
+
+    private static final String DELETE_ASSESSMENT_SQL = "DELETE FROM assessments WHERE assessment_id = ? AND deleted_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AssessmentRepository assessmentRepository;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long busyPauseMillis;
+    private final long intervalMillis;
+    private final ScheduledExecutorService purgeRunner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exam-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExamPurgeService(
+            JdbcTemplate jdbcTemplate,
+            AssessmentRepository assessmentRepository,
+            @Value("${assessment.purge.chunk-size:1000}") int chunkSize,
+            @Value("${assessment.purge.pause-ms:100}") long pauseMillis,
+            @Value("${assessment.purge.busy-pause-ms:2000}") long busyPauseMillis,
+            @Value("${assessment.purge.interval-ms:60000}") long intervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.assessmentRepository = assessmentRepository;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.busyPauseMillis = busyPauseMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    void schedule() {
+        purgeRunner.scheduleWithFixedDelay(this::purgeDeletedExams, INITIAL_DELAY_MILLIS, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purgeRunner.shutdownNow();
+    }
+
+    public void purgeDeletedExams() {
+        List<UUID> deleted;
+        try {
+            deleted = assessmentRepository.findDeletedIds(EXAMS_PER_RUN);
+        } catch (RuntimeException e) {
+            // An exception escaping a fixed-delay task would cancel all later runs
+            log.warn("Looking up deleted exams failed, will retry", e);
+            return;
+        }
+        for (UUID assessmentId : deleted) {
+            try {
+                purge(assessmentId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Purging deleted exam {} failed, will retry", assessmentId, e);
+            }
+        }
+    }
+
+    private void purge(UUID assessmentId) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        for (Step step : STEPS) {
+            // Checked once per step, exams rarely start or end within one and the check is a query of its own
+            long pause = assessmentRepository.existsActiveExam(OffsetDateTime.now()) ? busyPauseMillis : pauseMillis;
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(step.sql(), assessmentId, chunkSize);
+                total += deleted;
+                if (deleted > 0) {
+                    Thread.sleep(pause);
+                }
+            } while (deleted == chunkSize);
+            log.debug("Purged {} of deleted exam {}", step.table(), assessmentId);
+        }
+        jdbcTemplate.update(DELETE_ASSESSMENT_SQL, assessmentId);
+        log.info("Purged deleted exam {}: {} rows in {} ms", assessmentId, total + 1, System.currentTimeMillis() - start);
+    }
+}
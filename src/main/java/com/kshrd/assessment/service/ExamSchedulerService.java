@@ -1,106 +1,158 @@
 package com.kshrd.assessment.service;
 
-import com.kshrd.assessment.entity.Assessment;
-import com.kshrd.assessment.entity.StudentAssessment;
-import com.kshrd.assessment.repository.AssessmentRepository;
 import com.kshrd.assessment.repository.StudentAssessmentRepository;
-import com.kshrd.assessment.utils.enums.Status;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Expires IN_PROGRESS attempts at their own deadline (StudentAssessment.endsAt).
+ *
+ * Deadlines sit in an in-memory {@link AttemptExpiryWheel} that is turned every second; whatever it returns is
+ * expired with one set-based UPDATE and then graded as a set. The wheel is rebuilt from the database on startup and a
+ * once-a-minute sweep re-queues anything it missed, e.g. a tick whose transaction rolled back.
+ */
 @Service
 @AllArgsConstructor
 @Slf4j
 public class ExamSchedulerService {
 
-    private static final ZoneId CAMBODIA_ZONE = ZoneId.of("Asia/Phnom_Penh");
-    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final long SWEEP_GRACE_SECONDS = 30;
+
+    private static final String EXPIRE_SQL = """
+            UPDATE student_assessment
+            SET status = 'EXPIRED',
+                submitted_at = now() AT TIME ZONE 'UTC',
+                grading_status = 'auto-expired',
+                duration_in_minute = CASE WHEN join_at IS NULL THEN duration_in_minute
+                    ELSE floor(extract(EPOCH FROM (now() AT TIME ZONE 'UTC') - join_at) / 60) END
+            WHERE attempt_id = ANY(?) AND status = 'IN_PROGRESS' AND ends_at <= now()
+            RETURNING attempt_id, student_id, assessment_id
+            """;
+
+    // Attempts started before ends_at was recorded take the end of their exam window
+    private static final String BACKFILL_ENDS_AT_SQL = """
+            UPDATE student_assessment sa
+            SET ends_at = (a.assessment_date + a.end_time) AT TIME ZONE 'Asia/Phnom_Penh'
+            FROM assessments a
+            WHERE a.assessment_id = sa.assessment_id
+              AND sa.status = 'IN_PROGRESS' AND sa.ends_at IS NULL
+              AND a.assessment_date IS NOT NULL AND a.end_time IS NOT NULL
+            """;
+
+    private static final String IN_PROGRESS_SQL = """
+            SELECT attempt_id, ends_at FROM student_assessment
+            WHERE status = 'IN_PROGRESS' AND ends_at IS NOT NULL
+            """;
+
+    private static final String RESCHEDULE_SQL = """
+            UPDATE student_assessment SET ends_at = ?
+            WHERE assessment_id = ? AND status = 'IN_PROGRESS'
+            RETURNING attempt_id, student_id
+            """;
 
     private final StudentAssessmentRepository studentAssessmentRepository;
-    private final AssessmentRepository assessmentRepository;
+    private final AnswerWriteBehindBuffer answerWriteBehindBuffer;
+    private final AttemptContextCache attemptContextCache;
+    private final GradingEngine gradingEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
 
-    @Scheduled(cron = "0 0 * * * *", zone = "UTC")
+    private final AttemptExpiryWheel wheel = new AttemptExpiryWheel(OffsetDateTime.now().toEpochSecond());
+
+    /**
+     * Queues the attempt to expire at {@code endsAt}. Safe to call before the surrounding transaction commits,
+     * an attempt that is no longer IN_PROGRESS or whose deadline moved is left alone when its timer fires.
+     */
+    public void scheduleExpiry(UUID attemptId, OffsetDateTime endsAt) {
+        if (endsAt != null) {
+            wheel.schedule(attemptId, endsAt.toEpochSecond());
+        }
+    }
+
+    /**
+     * Moves the deadline of every running attempt of an assessment, e.g. after its end time was changed.
+     */
+    public void rescheduleAssessment(UUID assessmentId, OffsetDateTime endsAt) {
+        if (endsAt == null) {
+            return;
+        }
+        jdbcTemplate.query(RESCHEDULE_SQL, rs -> {
+            UUID attemptId = rs.getObject("attempt_id", UUID.class);
+            wheel.schedule(attemptId, endsAt.toEpochSecond());
+            attemptContextCache.invalidate(rs.getObject("student_id", UUID.class), assessmentId);
+        }, endsAt, assessmentId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
     @Transactional
-    public void expireInProgressAssessments() {
-        log.debug("Running scheduled task: expireInProgressAssessments");
-        
-        LocalDateTime now = LocalDateTime.now(CAMBODIA_ZONE);
-        LocalDate today = now.toLocalDate();
-        
-        List<Assessment> endedAssessments = assessmentRepository.findAll().stream()
-                .filter(assessment -> {
-                    if (assessment.getAssessmentDate() == null || 
-                        assessment.getEndTime() == null) {
-                        return false;
-                    }
-                    
-                    LocalDate assessmentDate = assessment.getAssessmentDate();
-                    LocalTime endTime = assessment.getEndTime();
-                    LocalDateTime endDateTime = LocalDateTime.of(assessmentDate, endTime);
-                    
-                    return now.isAfter(endDateTime) || 
-                           (today.isAfter(assessmentDate));
-                })
-                .toList();
-        
-        if (endedAssessments.isEmpty()) {
-            log.debug("No ended assessments found");
+    public void rebuildWheel() {
+        int backfilled = jdbcTemplate.update(BACKFILL_ENDS_AT_SQL);
+        jdbcTemplate.query(IN_PROGRESS_SQL, rs -> {
+            wheel.schedule(rs.getObject("attempt_id", UUID.class), rs.getObject("ends_at", OffsetDateTime.class).toEpochSecond());
+        });
+        log.info("Scheduled {} in-progress attempts for expiry ({} deadlines backfilled)", wheel.size(), backfilled);
+    }
+
+    /**
+     * Turns the wheel without touching the database; only a tick with due attempts flushes their buffered
+     * answers and then opens a transaction to expire and grade them.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void expireDueAttempts() {
+        List<UUID> due = wheel.advanceTo(OffsetDateTime.now().toEpochSecond());
+        if (due.isEmpty()) {
             return;
         }
-        
-        int expiredCount = 0;
-        for (Assessment assessment : endedAssessments) {
-            List<StudentAssessment> inProgressAssessments = 
-                    studentAssessmentRepository.findByAssessmentId(assessment.getAssessment_id())
-                            .stream()
-                            .filter(sa -> sa.getStatus() == Status.IN_PROGRESS)
-                            .toList();
-            
-            for (StudentAssessment studentAssessment : inProgressAssessments) {
-                studentAssessment.setStatus(Status.EXPIRED);
-                LocalDateTime nowUtc = ZonedDateTime.of(now, CAMBODIA_ZONE)
-                        .withZoneSameInstant(UTC_ZONE)
-                        .toLocalDateTime();
-                studentAssessment.setSubmittedAt(nowUtc);
-                
-                if (studentAssessment.getScore() == null || studentAssessment.getScore() == 0.0) {
-                    studentAssessment.setScore(0.0);
-                    studentAssessment.setTotalScore(0.0);
-                }
-                
-                if (studentAssessment.getJoinAt() != null) {
-                    LocalDateTime joinAtCambodia = ZonedDateTime.of(studentAssessment.getJoinAt(), UTC_ZONE)
-                            .withZoneSameInstant(CAMBODIA_ZONE)
-                            .toLocalDateTime();
-                    long minutes = java.time.Duration.between(
-                            joinAtCambodia, 
-                            now
-                    ).toMinutes();
-                    studentAssessment.setDurationInMinute((double) minutes);
-                }
-                
-                studentAssessment.setGradingStatus("auto-expired");
-                studentAssessmentRepository.save(studentAssessment);
-                expiredCount++;
-                
-                log.info("Auto-expired assessment for student {} and exam {}", 
-                        studentAssessment.getStudentId(), 
-                        studentAssessment.getAssessmentId());
-            }
+        // The flush commits on a connection of its own, so it runs before the expiry transaction opens
+        answerWriteBehindBuffer.flushAttempts(due);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> expire(due));
+    }
+
+    private void expire(List<UUID> due) {
+        List<ExpiredAttempt> expired = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPIRE_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", due.toArray()));
+            return ps;
+        }, (rs, rowNum) -> new ExpiredAttempt(
+                rs.getObject("attempt_id", UUID.class),
+                rs.getObject("student_id", UUID.class),
+                rs.getObject("assessment_id", UUID.class)
+        ));
+
+        if (expired.isEmpty()) {
+            return;
         }
-        
-        if (expiredCount > 0) {
-            log.info("Expired {} in-progress assessments", expiredCount);
+        Map<UUID, UUID> assessmentIdByAttemptId = new HashMap<>();
+        expired.forEach(attempt -> assessmentIdByAttemptId.put(attempt.attemptId(), attempt.assessmentId()));
+        gradingEngine.gradeAttempts(assessmentIdByAttemptId);
+        expired.forEach(attempt -> attemptContextCache.invalidate(attempt.studentId(), attempt.assessmentId()));
+        log.info("Expired {} in-progress attempts", expired.size());
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void sweepMissedDeadlines() {
+        // The grace period keeps attempts the wheel is about to fire out of the sweep
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(SWEEP_GRACE_SECONDS);
+        var missed = studentAssessmentRepository.findInProgressWithEndsAtBefore(cutoff);
+        if (!missed.isEmpty()) {
+            log.warn("Re-queueing {} attempts past their deadline", missed.size());
+            missed.forEach(attempt -> wheel.schedule(attempt.getAttemptId(), attempt.getEndsAt().toEpochSecond()));
         }
     }
 
@@ -109,5 +161,7 @@ public class ExamSchedulerService {
     public void dailyCleanup() {
         log.info("Running daily cleanup task");
     }
-}
 
+    private record ExpiredAttempt(UUID attemptId, UUID studentId, UUID assessmentId) {
+    }
+}
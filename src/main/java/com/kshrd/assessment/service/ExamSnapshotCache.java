@@ -0,0 +1,213 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.exam.ExamResponse;
+import com.kshrd.assessment.dto.monitoring.CacheStats;
+import com.kshrd.assessment.dto.response.ApiResponse;
+import com.kshrd.assessment.entity.Assessment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The student view of an exam rendered once per exam version into ready-to-send JSON and gzip bytes.
+ *
+ * At exam start every student asks for the same exam within a second. Concurrent misses share one build
+ * (single flight) and every later request only writes the cached bytes, so the database and Jackson see one
+ * request per exam version instead of one per student. Content changes bump the exam's version after commit;
+ * a build that started on the old version still answers the requests waiting on it but is replaced by the
+ * next one. The envelope is rendered with the snapshot, by the same JSON mapper the MVC message converters
+ * use, so its {@code timestamp} is the time the snapshot was rendered, not the time of the response; the gzip
+ * bytes could not be reused otherwise. Clients that need the response time read the Date header. Snapshots
+ * are dropped once their exam has ended or after they sat unused for the idle time, and the least recently
+ * used one goes when the cache is full.
+ */
+@Service
+@Slf4j
+public class ExamSnapshotCache {
+
+    public static final String MESSAGE = "Active exam details retrieved successfully";
+
+    /**
+     * The rendered {@link ApiResponse} of an exam. Its timestamp is frozen at render time.
+     */
+    public record ExamSnapshot(
+            OffsetDateTime startsAt,
+            OffsetDateTime endsAt,
+            byte[] json,
+            byte[] gzip
+    ) {
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final CompletableFuture<ExamSnapshot> snapshot = new CompletableFuture<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Entry(long version) {
+            this.version = version;
+        }
+    }
+
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxSize;
+    private final long idleNanos;
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Versions come from one counter and are compared for equality, so a dropped version (read as 0) can never
+    // make an older build match again
+    private final ConcurrentHashMap<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExamSnapshotCache(
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${assessment.cache.exam-snapshot.max-size:500}") int maxSize,
+            @Value("${assessment.cache.exam-snapshot.idle-minutes:30}") long idleMinutes) {
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxSize = maxSize;
+        this.idleNanos = idleMinutes * 60_000_000_000L;
+    }
+
+    /**
+     * Returns the current snapshot of the exam, loading and mapping it on a miss. Exceptions thrown by the loader
+     * reach every request that waited on the build and nothing is cached.
+     */
+    public ExamSnapshot get(UUID examId, Supplier<Assessment> loader, Function<Assessment, ExamResponse> mapper) {
+        long version = versions.getOrDefault(examId, 0L);
+        Entry current = entries.get(examId);
+        if (current != null && current.version == version) {
+            hits.increment();
+            current.lastAccessNanos = System.nanoTime();
+            return join(current.snapshot);
+        }
+
+        Entry created = new Entry(version);
+        Entry winner = entries.compute(examId, (id, existing) ->
+                existing != null && existing.version == version ? existing : created);
+        if (winner != created) {
+            hits.increment();
+            winner.lastAccessNanos = System.nanoTime();
+            return join(winner.snapshot);
+        }
+
+        misses.increment();
+        if (entries.size() > maxSize) {
+            evictLeastRecentlyUsed(examId);
+        }
+        try {
+            ExamSnapshot snapshot = readOnlyTransaction.execute(status -> {
+                Assessment assessment = loader.get();
+                return render(assessment, mapper.apply(assessment));
+            });
+            created.snapshot.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            entries.remove(examId, created);
+            created.snapshot.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onExamContentChanged(ExamContentChangedEvent event) {
+        long version = versionCounter.incrementAndGet();
+        versions.put(event.assessmentId(), version);
+        entries.computeIfPresent(event.assessmentId(), (id, entry) -> entry.version != version ? null : entry);
+        invalidations.increment();
+    }
+
+    /**
+     * Drops snapshots of exams that have ended and snapshots nobody asked for within the idle time.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void evictExpired() {
+        OffsetDateTime now = OffsetDateTime.now();
+        long nowNanos = System.nanoTime();
+        entries.forEach((examId, entry) -> {
+            ExamSnapshot snapshot = entry.snapshot.getNow(null);
+            boolean ended = snapshot != null && snapshot.endsAt() != null && snapshot.endsAt().isBefore(now);
+            boolean idle = entry.snapshot.isDone() && nowNanos - entry.lastAccessNanos > idleNanos;
+            if ((ended || idle) && entries.remove(examId, entry)) {
+                versions.remove(examId);
+                evictions.increment();
+            }
+        });
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private void evictLeastRecentlyUsed(UUID keep) {
+        UUID eldest = null;
+        long eldestAccess = 0;
+        for (var candidate : entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (!candidate.getKey().equals(keep) && entry.snapshot.isDone()
+                    && (eldest == null || entry.lastAccessNanos - eldestAccess < 0)) {
+                eldest = candidate.getKey();
+                eldestAccess = entry.lastAccessNanos;
+            }
+        }
+        if (eldest != null && entries.remove(eldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    private ExamSnapshot render(Assessment assessment, ExamResponse exam) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(ApiResponse.success(exam, MESSAGE));
+            log.debug("Rendered student view of exam {} ({} bytes)", exam.assessmentId(), json.length);
+            return new ExamSnapshot(assessment.getStartsAt(), assessment.getEndsAt(), json, gzip(json));
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Could not render exam " + exam.assessmentId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static ExamSnapshot join(CompletableFuture<ExamSnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
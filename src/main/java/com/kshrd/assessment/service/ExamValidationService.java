@@ -1,85 +1,80 @@
 package com.kshrd.assessment.service;
 
 import com.kshrd.assessment.entity.Assessment;
+import com.kshrd.assessment.repository.AssessmentRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
+import java.time.OffsetDateTime;
 
 /**
  * Service for validating exam schedules and status.
  * 
  * Timezone Handling:
  * - User input (LocalDate/LocalTime) is accepted as-is without timezone validation
- * - Stored dates/times are timezone-agnostic (LocalDate/LocalTime)
- * - Business logic comparisons use Cambodia timezone (Asia/Phnom_Penh) for current time
+ * - The schedule is interpreted in Cambodia timezone (Asia/Phnom_Penh) and also stored as the instants
+ *   Assessment.startsAt/endsAt, which all checks here compare against
  * - All timestamps stored in database use UTC
  */
 @Service
+@AllArgsConstructor
+@Slf4j
 public class ExamValidationService {
 
-    private static final ZoneId CAMBODIA_ZONE = ZoneId.of("Asia/Phnom_Penh");
+    private final AssessmentRepository assessmentRepository;
 
-    public boolean isExamActive(Assessment assessment) {
-        if (assessment == null) {
-            return false;
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillWindowInstants() {
+        int updated = assessmentRepository.backfillWindowInstants();
+        if (updated > 0) {
+            log.info("Backfilled schedule instants of {} assessments", updated);
         }
+    }
 
-        if (assessment.getAssessmentDate() == null || 
-            assessment.getStartTime() == null || 
-            assessment.getEndTime() == null) {
+    public boolean isExamActive(Assessment assessment) {
+        if (assessment == null) {
             return false;
         }
 
-        LocalDate today = LocalDate.now(CAMBODIA_ZONE);
-        LocalTime currentTime = LocalTime.now(CAMBODIA_ZONE);
-        LocalDate assessmentDate = assessment.getAssessmentDate();
-        LocalTime startTime = assessment.getStartTime();
-        LocalTime endTime = assessment.getEndTime();
+        return isExamActive(assessment.getStartsAt(), assessment.getEndsAt());
+    }
 
-        if (!today.equals(assessmentDate)) {
+    public boolean isExamActive(OffsetDateTime startsAt, OffsetDateTime endsAt) {
+        if (startsAt == null || endsAt == null) {
             return false;
         }
 
-        return !currentTime.isBefore(startTime) && !currentTime.isAfter(endTime);
+        OffsetDateTime now = OffsetDateTime.now();
+        return !now.isBefore(startsAt) && !now.isAfter(endsAt);
     }
 
-    public boolean isExamEnded(Assessment assessment) {
-        if (assessment == null) {
-            return false;
-        }
+    /**
+     * The instant the exam window closes, or null when the exam has no date or end time.
+     */
+    public OffsetDateTime examEndsAt(Assessment assessment) {
+        return assessment != null ? assessment.getEndsAt() : null;
+    }
 
-        if (assessment.getAssessmentDate() == null || assessment.getEndTime() == null) {
+    public boolean isExamEnded(Assessment assessment) {
+        if (assessment == null || assessment.getEndsAt() == null) {
             return false;
         }
 
-        LocalDate today = LocalDate.now(CAMBODIA_ZONE);
-        LocalDate assessmentDate = assessment.getAssessmentDate();
-        LocalTime endTime = assessment.getEndTime();
-        LocalDateTime endDateTime = LocalDateTime.of(assessmentDate, endTime);
-        LocalDateTime currentDateTime = LocalDateTime.now(CAMBODIA_ZONE);
-
-        return currentDateTime.isAfter(endDateTime) || today.isAfter(assessmentDate);
+        return OffsetDateTime.now().isAfter(assessment.getEndsAt());
     }
 
     public boolean isExamStarted(Assessment assessment) {
-        if (assessment == null) {
+        if (assessment == null || assessment.getStartsAt() == null) {
             return false;
         }
 
-        if (assessment.getAssessmentDate() == null || assessment.getStartTime() == null) {
-            return false;
-        }
-
-        LocalDate today = LocalDate.now(CAMBODIA_ZONE);
-        LocalDate assessmentDate = assessment.getAssessmentDate();
-        LocalTime startTime = assessment.getStartTime();
-        LocalDateTime startDateTime = LocalDateTime.of(assessmentDate, startTime);
-        LocalDateTime currentDateTime = LocalDateTime.now(CAMBODIA_ZONE);
-
-        return today.equals(assessmentDate) && !currentDateTime.isBefore(startDateTime);
+        return !OffsetDateTime.now().isBefore(assessment.getStartsAt());
     }
 
     public void validateExamCanBeStarted(Assessment assessment) {
@@ -0,0 +1,290 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.utils.enums.QuestionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side scoring of MCQ and TRUE_FALSE answers.
+ *
+ * Each assessment's answer keys are compiled once into primitive arrays (expected option or boolean and points
+ * per question) and cached until the exam's content changes, for at most max-size exams and the idle time. Grading reads only the two answer fields it needs
+ * through {@code ->>}, scores them in one pass and writes every answer score and the attempt totals in a single
+ * statement, for one attempt or a whole set of them. LONG_ANSWER and CODING answers keep their manual score.
+ */
+@Service
+@Slf4j
+public class GradingEngine {
+
+    private static final byte NOT_AUTO_GRADED = 0;
+    private static final byte MCQ = 1;
+    private static final byte TRUE_FALSE = 2;
+    private static final int NO_KEY = -1;
+
+    private static final String KEYS_SQL = """
+            SELECT q.question_id, q.question_type, q.points, q.question_content->>'correct' AS correct
+            FROM questions q
+            JOIN sections s ON s.section_id = q.section_id
+            WHERE s.assessment_id = ?
+            """;
+
+    private static final String ANSWERS_SQL = """
+            SELECT a.attempt_id, a.answer_id, a.question_id, a.score,
+                   a.answer->>'selectedOption' AS selected_option, a.answer->>'value' AS tf_value
+            FROM answer a
+            WHERE a.attempt_id = ANY(?)
+            """;
+
+    private static final String WRITE_SCORES_SQL = """
+            WITH scored AS (
+                UPDATE answer a SET score = v.score
+                FROM unnest(?::uuid[], ?::float8[]) AS v(answer_id, score)
+                WHERE a.answer_id = v.answer_id
+                RETURNING a.answer_id
+            )
+            UPDATE student_assessment sa SET score = t.total, total_score = t.total
+            FROM unnest(?::uuid[], ?::float8[]) AS t(attempt_id, total)
+            WHERE sa.attempt_id = t.attempt_id
+            """;
+
+    public record GradeResult(double score, int autoGradedAnswers) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate compileTransaction;
+    private final BoundedExamCache<AnswerKeys> compiledKeys;
+
+    public GradingEngine(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${assessment.cache.answer-keys.max-size:1000}") int maxSize,
+            @Value("${assessment.cache.answer-keys.idle-minutes:30}") long idleMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.compiledKeys = new BoundedExamCache<>(maxSize, idleMinutes);
+        this.compileTransaction = new TransactionTemplate(transactionManager);
+        this.compileTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.compileTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Scores the attempt and persists the result. Pending JPA changes to its answers must be flushed first.
+     */
+    public GradeResult gradeAttempt(UUID assessmentId, UUID attemptId) {
+        return gradeAttempts(Map.of(attemptId, assessmentId)).get(attemptId);
+    }
+
+    /**
+     * Scores a set of attempts, keyed by attempt id with their assessment id as value, with one read and one
+     * write for the whole set. Pending JPA changes to their answers must be flushed first.
+     */
+    public Map<UUID, GradeResult> gradeAttempts(Map<UUID, UUID> assessmentIdByAttemptId) {
+        if (assessmentIdByAttemptId.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, AnswerKeys> keysByAssessment = new HashMap<>();
+        Map<UUID, AnswerKeys> keysByAttempt = new HashMap<>();
+        Map<UUID, Tally> tallies = new LinkedHashMap<>();
+        assessmentIdByAttemptId.forEach((attemptId, assessmentId) -> {
+            keysByAttempt.put(attemptId, keysByAssessment.computeIfAbsent(assessmentId, this::keys));
+            tallies.put(attemptId, new Tally());
+        });
+        UUID[] attemptIds = tallies.keySet().toArray(UUID[]::new);
+        ScoreSheet sheet = new ScoreSheet();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ANSWERS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", attemptIds));
+            return ps;
+        }, rs -> {
+            UUID attemptId = rs.getObject("attempt_id", UUID.class);
+            AnswerKeys keys = keysByAttempt.get(attemptId);
+            Tally tally = tallies.get(attemptId);
+            int index = keys.indexOf(rs.getObject("question_id", UUID.class));
+            if (index < 0 || !keys.isAutoGraded(index)) {
+                double manualScore = rs.getDouble("score");
+                tally.total += rs.wasNull() ? 0.0 : manualScore;
+                return;
+            }
+            double score = keys.score(index, rs.getString("selected_option"), rs.getString("tf_value"));
+            sheet.add(rs.getObject("answer_id", UUID.class), score);
+            tally.total += score;
+            tally.autoGraded++;
+        });
+
+        UUID[] answerIds = Arrays.copyOf(sheet.answerIds, sheet.size);
+        Double[] scores = new Double[sheet.size];
+        for (int i = 0; i < sheet.size; i++) {
+            scores[i] = sheet.scores[i];
+        }
+        Double[] totals = tallies.values().stream().map(tally -> tally.total).toArray(Double[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(WRITE_SCORES_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", answerIds));
+            ps.setArray(2, connection.createArrayOf("float8", scores));
+            ps.setArray(3, connection.createArrayOf("uuid", attemptIds));
+            ps.setArray(4, connection.createArrayOf("float8", totals));
+            return ps;
+        });
+
+        Map<UUID, GradeResult> results = new LinkedHashMap<>();
+        tallies.forEach((attemptId, tally) -> results.put(attemptId, new GradeResult(tally.total, tally.autoGraded)));
+        return results;
+    }
+
+    /**
+     * Compiles the exam's answer keys ahead of its first grading.
+     */
+    public void warm(UUID assessmentId) {
+        keys(assessmentId);
+    }
+
+    @TransactionalEventListener
+    public void onExamContentChanged(ExamContentChangedEvent event) {
+        if (event.deleted()) {
+            compiledKeys.replace(event.assessmentId(), null);
+            return;
+        }
+        AnswerKeys keys = compileTransaction.execute(status -> compile(event.assessmentId()));
+        compiledKeys.replace(event.assessmentId(), keys.size() > 0 ? keys : null);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void evictIdle() {
+        compiledKeys.evictIdle();
+    }
+
+    private AnswerKeys keys(UUID assessmentId) {
+        return compiledKeys.get(assessmentId, () -> compile(assessmentId), keys -> keys.size() > 0);
+    }
+
+    /**
+     * Reads the keys straight from the database, bypassing the cache. Used by jobs that must not race the
+     * cache refresh after a key change.
+     */
+    AnswerKeys compile(UUID assessmentId) {
+        List<KeyRow> rows = jdbcTemplate.query(KEYS_SQL, (rs, rowNum) -> new KeyRow(
+                rs.getObject("question_id", UUID.class),
+                rs.getString("question_type"),
+                rs.getObject("points", Double.class),
+                rs.getString("correct")
+        ), assessmentId);
+        rows.sort((a, b) -> a.questionId().compareTo(b.questionId()));
+
+        AnswerKeys keys = new AnswerKeys(new SortedUuids(rows.stream().map(KeyRow::questionId).toArray(UUID[]::new)));
+        for (int i = 0; i < rows.size(); i++) {
+            KeyRow row = rows.get(i);
+            byte kind = kindOf(row.questionType());
+            keys.kinds[i] = kind;
+            keys.expected[i] = kind == NOT_AUTO_GRADED ? NO_KEY : parse(kind, row.correct());
+            keys.points[i] = row.points() != null ? row.points() : 0.0;
+        }
+        log.debug("Compiled answer keys for {} questions of assessment {}", rows.size(), assessmentId);
+        return keys;
+    }
+
+    private static byte kindOf(String questionType) {
+        if (QuestionType.MCQ.name().equals(questionType)) {
+            return MCQ;
+        }
+        if (QuestionType.TRUE_FALSE.name().equals(questionType)) {
+            return TRUE_FALSE;
+        }
+        return NOT_AUTO_GRADED;
+    }
+
+    /**
+     * Normalizes an option index or boolean to an int so key and answer compare with ==. Anything unreadable,
+     * including a fractional or out-of-range option, becomes a value that never matches a key.
+     */
+    private static int parse(byte kind, String value) {
+        if (value == null) {
+            return NO_KEY;
+        }
+        if (kind == TRUE_FALSE) {
+            if ("true".equalsIgnoreCase(value)) {
+                return 1;
+            }
+            return "false".equalsIgnoreCase(value) ? 0 : NO_KEY;
+        }
+        try {
+            double option = Double.parseDouble(value);
+            return option >= 0 && option <= Integer.MAX_VALUE && option == Math.rint(option) ? (int) option : NO_KEY;
+        } catch (NumberFormatException e) {
+            return NO_KEY;
+        }
+    }
+
+    private record KeyRow(UUID questionId, String questionType, Double points, String correct) {
+    }
+
+    static final class AnswerKeys {
+        private final SortedUuids ids;
+        private final byte[] kinds;
+        private final int[] expected;
+        private final double[] points;
+
+        private AnswerKeys(SortedUuids ids) {
+            this.ids = ids;
+            this.kinds = new byte[ids.size()];
+            this.expected = new int[ids.size()];
+            this.points = new double[ids.size()];
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        int indexOf(UUID questionId) {
+            return ids.indexOf(questionId);
+        }
+
+        boolean isAutoGraded(int index) {
+            return kinds[index] != NOT_AUTO_GRADED && expected[index] != NO_KEY;
+        }
+
+        /**
+         * Points earned by an answer to an auto-graded question, given its selectedOption and value fields. A
+         * question without a key earns nothing, an unreadable answer must not match the missing key.
+         */
+        double score(int index, String selectedOption, String value) {
+            String given = kinds[index] == MCQ ? selectedOption : value;
+            return expected[index] != NO_KEY && expected[index] == parse(kinds[index], given) ? points[index] : 0.0;
+        }
+    }
+
+    private static final class ScoreSheet {
+        private UUID[] answerIds = new UUID[64];
+        private double[] scores = new double[64];
+        private int size;
+
+        void add(UUID answerId, double score) {
+            if (size == answerIds.length) {
+                answerIds = Arrays.copyOf(answerIds, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            answerIds[size] = answerId;
+            scores[size] = score;
+            size++;
+        }
+    }
+
+    private static final class Tally {
+        private double total;
+        private int autoGraded;
+    }
+}
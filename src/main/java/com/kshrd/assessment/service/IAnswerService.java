@@ -17,6 +17,7 @@ public interface IAnswerService {
     AnswerResponse submitSingleAnswer(com.kshrd.assessment.dto.answer.SubmitSingleAnswerRequest request);
     List<AnswerResponse> getAnswersByAssessment(UUID assessmentId);
     PageResponse<AnswerResponse> getAnswersByAssessment(UUID assessmentId, PageRequest pageRequest);
+    PageResponse<AnswerResponse> getAnswersByAssessment(UUID assessmentId, com.kshrd.assessment.dto.answer.AnswerSearchCriteria criteria, PageRequest pageRequest);
     List<AnswerResponse> getMyAnswersByAssessment(UUID assessmentId);
     PageResponse<AnswerResponse> getMyAnswersByAssessment(UUID assessmentId, PageRequest pageRequest);
     AnswerResponse getAnswerByQuestion(UUID questionId);
@@ -1,10 +1,14 @@
 package com.kshrd.assessment.service;
 
 import com.kshrd.assessment.dto.classroom.AssignAssessmentToClassroomRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsResponse;
 import com.kshrd.assessment.dto.classroom.ClassroomRequest;
 import com.kshrd.assessment.dto.classroom.ClassroomResponse;
+import com.kshrd.assessment.dto.classroom.ClassroomStudentsRequest;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,10 +20,15 @@ public interface IClassroomService {
     ClassroomResponse getClassroomById(UUID classroomId);
     List<ClassroomResponse> getMyClassrooms();
     PageResponse<ClassroomResponse> getMyClassrooms(PageRequest pageRequest);
+    List<SearchSuggestion> suggestMyClassrooms(String term, int limit);
     List<ClassroomResponse> getAllClassrooms();
     PageResponse<ClassroomResponse> getAllClassrooms(PageRequest pageRequest);
     ClassroomResponse assignAssessmentsToClassroom(UUID classroomId, AssignAssessmentToClassroomRequest request);
     ClassroomResponse removeAssessmentsFromClassroom(UUID classroomId, AssignAssessmentToClassroomRequest request);
+    List<UUID> getClassroomStudents(UUID classroomId);
+    List<UUID> addStudentsToClassroom(UUID classroomId, ClassroomStudentsRequest request);
+    List<UUID> removeStudentsFromClassroom(UUID classroomId, ClassroomStudentsRequest request);
+    AssignClassroomsResponse assignAssessmentsToClassrooms(AssignClassroomsRequest request);
     List<ClassroomResponse> getClassroomsBySubjectId(UUID subjectId);
 }
 
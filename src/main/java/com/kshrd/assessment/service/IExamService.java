@@ -1,5 +1,7 @@
 package com.kshrd.assessment.service;
 
+import com.kshrd.assessment.dto.exam.CloneExamsRequest;
+import com.kshrd.assessment.dto.exam.ClonedExamResponse;
 import com.kshrd.assessment.dto.exam.ExamRequest;
 import com.kshrd.assessment.dto.exam.ExamResponse;
 import com.kshrd.assessment.dto.exam.ExamScheduleRequest;
@@ -8,6 +10,7 @@ import com.kshrd.assessment.dto.exam.QuestionResponse;
 import com.kshrd.assessment.dto.exam.QuestionUpdateRequest;
 import com.kshrd.assessment.dto.exam.SectionResponse;
 import com.kshrd.assessment.dto.exam.SectionUpdateRequest;
+import com.kshrd.assessment.service.ExamSnapshotCache.ExamSnapshot;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,12 +18,14 @@ import java.util.UUID;
 
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
 
 public interface IExamService {
     ExamResponse createExam(ExamRequest request);
     Optional<ExamResponse> getExamById(UUID examId);
     List<ExamResponse>  getMyExams();
     PageResponse<ExamResponse> getMyExams(PageRequest pageRequest);
+    List<SearchSuggestion> suggestMyExams(String term, int limit);
     List<ExamResponse> getAllExams();
     PageResponse<ExamResponse> getAllExams(PageRequest pageRequest);
     List<ExamResponse> getActiveExams();
@@ -29,6 +34,7 @@ public interface IExamService {
     ExamResponse updateExam(UUID examId, ExamRequest request);
     ExamScheduleResponse updateSchedule(UUID examId, ExamScheduleRequest request);
     ExamResponse cloneExam(UUID examId);
+    List<ClonedExamResponse> cloneExams(CloneExamsRequest request);
     void deleteExam(UUID examId);
     void updateSection(UUID sectionId, SectionUpdateRequest request);
     void deleteSection(UUID sectionId);
@@ -36,5 +42,10 @@ public interface IExamService {
     void deleteQuestion(UUID questionId);
     Optional<SectionResponse> getSectionById(UUID sectionId);
     Optional<QuestionResponse> getQuestionById(UUID questionId);
+    long getExamContentVersion(UUID examId);
+    long getSectionContentVersion(UUID sectionId);
+    long getQuestionContentVersion(UUID questionId);
     ExamResponse getActiveExamForStudent(UUID examId);
+    ExamSnapshot getActiveExamSnapshotForStudent(UUID examId);
+    ExamSnapshot prewarmStudentView(UUID examId);
 }
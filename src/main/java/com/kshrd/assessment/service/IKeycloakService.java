@@ -3,6 +3,7 @@ package com.kshrd.assessment.service;
 import com.kshrd.assessment.dto.auth.LoginRequest;
 import com.kshrd.assessment.dto.auth.LoginResponse;
 import com.kshrd.assessment.dto.auth.UserRequest;
+import com.kshrd.assessment.dto.response.PageResponse;
 import com.kshrd.assessment.dto.student.StudentResponse;
 import com.kshrd.assessment.dto.teacher.TeacherResponse;
 
@@ -14,4 +15,7 @@ public interface IKeycloakService {
     LoginResponse login(LoginRequest loginRequest);
     List<TeacherResponse> getAllTeachers();
     List<StudentResponse> getAllStudents();
+    PageResponse<TeacherResponse> searchTeachers(String prefix, int page, int size);
+    PageResponse<StudentResponse> searchStudents(String prefix, int page, int size);
+    void refreshDirectory();
 }
@@ -0,0 +1,219 @@
+package com.kshrd.assessment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.assessment.dto.auth.LoginResponse;
+import com.kshrd.assessment.dto.monitoring.TokenClientStats;
+import com.kshrd.assessment.exception.AdmissionRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * One shared client for the realm's token endpoint.
+ *
+ * Logins used to build a Keycloak admin client per call, each with its own HTTP stack, so a login storm at exam
+ * start opened a new connection per student. This client keeps a single keep-alive HTTP/1.1 client for the
+ * application and lets at most max-connections token requests run at once, which also caps the open
+ * connections. The rest wait up to the acquire timeout and are then rejected with a Retry-After. Work runs on
+ * virtual threads, see {@link #executor()}.
+ */
+@Service
+public class KeycloakTokenClient {
+
+    /**
+     * The token endpoint answered with an OAuth error, {@code error} is its error code when it sent one.
+     */
+    public static class TokenEndpointException extends RuntimeException {
+
+        private final int status;
+        private final String error;
+
+        public TokenEndpointException(int status, String error, String description) {
+            super(description != null ? description : "Token endpoint returned status " + status);
+            this.status = status;
+            this.error = error;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final URI tokenEndpoint;
+    private final String clientId;
+    private final String clientSecret;
+    private final int maxConnections;
+    private final long acquireTimeoutMillis;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Semaphore connections;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final LongAccumulator longestLatencyMillis = new LongAccumulator(Math::max, 0);
+
+    public KeycloakTokenClient(
+            ObjectMapper objectMapper,
+            @Value("${keycloak.auth-server-url}") String authServerUrl,
+            @Value("${keycloak.realm}") String realm,
+            @Value("${keycloak.client-id}") String clientId,
+            @Value("${keycloak.client-secret}") String clientSecret,
+            @Value("${assessment.keycloak.token.max-connections:32}") int maxConnections,
+            @Value("${assessment.keycloak.token.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${assessment.keycloak.token.request-timeout-ms:5000}") long requestTimeoutMillis,
+            @Value("${assessment.keycloak.token.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.tokenEndpoint = URI.create(authServerUrl.replaceAll("/+$", "") + "/realms/" + realm + "/protocol/openid-connect/token");
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.connections = new Semaphore(maxConnections, true);
+        // HTTP/1.1 so every in-flight request holds exactly one pooled connection and idle ones are reused
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Virtual-thread executor to run logins on, so a request waiting for the token endpoint does not hold a
+     * servlet thread.
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Exchanges a username and password for tokens (resource owner password grant).
+     *
+     * @throws TokenEndpointException    if the endpoint rejects the grant
+     * @throws AdmissionRejectedException if no connection frees up within the acquire timeout
+     */
+    public LoginResponse passwordGrant(String username, String password) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "password");
+        form.put("client_id", clientId);
+        if (clientSecret != null && !clientSecret.isBlank()) {
+            form.put("client_secret", clientSecret);
+        }
+        form.put("username", username);
+        form.put("password", password);
+        HttpRequest request = HttpRequest.newBuilder(tokenEndpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(encode(form)))
+                .build();
+
+        acquire();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode body = response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.createObjectNode();
+            if (response.statusCode() != 200) {
+                failures.increment();
+                throw new TokenEndpointException(response.statusCode(), text(body, "error"), text(body, "error_description"));
+            }
+            return new LoginResponse(
+                    text(body, "access_token"),
+                    text(body, "refresh_token"),
+                    text(body, "token_type"),
+                    number(body, "expires_in"),
+                    number(body, "refresh_expires_in")
+            );
+        } catch (IOException e) {
+            failures.increment();
+            throw new IllegalStateException("Token endpoint unreachable: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.increment();
+            throw new IllegalStateException("Interrupted while calling the token endpoint", e);
+        } finally {
+            connections.release();
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            requests.increment();
+            totalLatencyMillis.add(latency);
+            longestLatencyMillis.accumulate(latency);
+        }
+    }
+
+    public TokenClientStats stats() {
+        long count = requests.sum();
+        return new TokenClientStats(maxConnections, maxConnections - connections.availablePermits(), waiting.get(),
+                count, waited.sum(), rejected.sum(), failures.sum(),
+                count == 0 ? 0 : (double) totalLatencyMillis.sum() / count, longestLatencyMillis.get());
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+
+    private void acquire() {
+        if (connections.tryAcquire()) {
+            return;
+        }
+        waited.increment();
+        waiting.incrementAndGet();
+        try {
+            if (!connections.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new AdmissionRejectedException("Too many logins in progress, please retry shortly", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("Interrupted while waiting to log in", 1);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private static String encode(Map<String, String> form) {
+        return form.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String text(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static Long number(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        return value != null && value.canConvertToLong() ? value.asLong() : null;
+    }
+}
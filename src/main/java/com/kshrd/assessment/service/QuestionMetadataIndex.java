@@ -0,0 +1,165 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.entity.Question;
+import com.kshrd.assessment.entity.Section;
+import com.kshrd.assessment.repository.SectionRepository;
+import com.kshrd.assessment.utils.enums.QuestionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-mostly index of the questions of each exam: questionId -> (sectionId, assessmentId, type, points).
+ *
+ * An exam is indexed on first use from {@link SectionRepository#findByAssessmentIdWithQuestions} and replaced
+ * as a whole after a committed {@link ExamContentChangedEvent}. Question ids are kept as sorted primitive
+ * arrays and looked up by binary search, so an indexed exam costs a few dozen bytes per question. At most
+ * max-size exams stay indexed, exams not read for the idle time are dropped, and an exam without questions is
+ * never cached so unknown ids cannot fill the index.
+ */
+@Service
+@Slf4j
+public class QuestionMetadataIndex {
+
+    private static final QuestionType[] QUESTION_TYPES = QuestionType.values();
+
+    public record QuestionMetadata(
+            UUID questionId,
+            UUID sectionId,
+            UUID assessmentId,
+            QuestionType questionType,
+            Double points
+    ) {
+    }
+
+    private final SectionRepository sectionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedExamCache<ExamQuestions> exams;
+
+    public QuestionMetadataIndex(
+            SectionRepository sectionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${assessment.cache.question-index.max-size:1000}") int maxSize,
+            @Value("${assessment.cache.question-index.idle-minutes:30}") long idleMinutes) {
+        this.sectionRepository = sectionRepository;
+        this.exams = new BoundedExamCache<>(maxSize, idleMinutes);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public Optional<QuestionMetadata> find(UUID assessmentId, UUID questionId) {
+        return Optional.ofNullable(exam(assessmentId).find(questionId));
+    }
+
+    public boolean contains(UUID assessmentId, UUID questionId) {
+        return exam(assessmentId).indexOf(questionId) >= 0;
+    }
+
+    public int questionCount(UUID assessmentId) {
+        return exam(assessmentId).size();
+    }
+
+    @TransactionalEventListener
+    public void onExamContentChanged(ExamContentChangedEvent event) {
+        if (event.deleted()) {
+            exams.replace(event.assessmentId(), null);
+            return;
+        }
+        // The committed transaction is still bound to the thread, so read in a new one
+        ExamQuestions exam = transactionTemplate.execute(status -> load(event.assessmentId()));
+        exams.replace(event.assessmentId(), exam.size() > 0 ? exam : null);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void evictIdle() {
+        exams.evictIdle();
+    }
+
+    private ExamQuestions exam(UUID assessmentId) {
+        return exams.get(assessmentId, () -> load(assessmentId), exam -> exam.size() > 0);
+    }
+
+    private ExamQuestions load(UUID assessmentId) {
+        List<Section> sections = sectionRepository.findByAssessmentIdWithQuestions(assessmentId);
+        ExamQuestions exam = ExamQuestions.of(assessmentId, sections);
+        log.debug("Indexed {} questions of exam {}", exam.size(), assessmentId);
+        return exam;
+    }
+
+    private static final class ExamQuestions {
+
+        private final UUID assessmentId;
+        private final SortedUuids ids;
+        private final UUID[] sectionIds;
+        private final short[] sectionIndexes;
+        private final byte[] types;
+        private final double[] points;
+
+        private ExamQuestions(UUID assessmentId, SortedUuids ids, UUID[] sectionIds) {
+            this.assessmentId = assessmentId;
+            this.ids = ids;
+            this.sectionIds = sectionIds;
+            this.sectionIndexes = new short[ids.size()];
+            this.types = new byte[ids.size()];
+            this.points = new double[ids.size()];
+        }
+
+        static ExamQuestions of(UUID assessmentId, List<Section> sections) {
+            List<Question> questions = new ArrayList<>();
+            UUID[] sectionIds = new UUID[sections.size()];
+            for (int i = 0; i < sections.size(); i++) {
+                sectionIds[i] = sections.get(i).getSection_id();
+                if (sections.get(i).getQuestions() != null) {
+                    questions.addAll(sections.get(i).getQuestions());
+                }
+            }
+            questions.sort(Comparator.comparing(Question::getQuestion_id));
+            List<UUID> sectionOrder = Arrays.asList(sectionIds);
+
+            UUID[] questionIds = questions.stream().map(Question::getQuestion_id).toArray(UUID[]::new);
+            ExamQuestions exam = new ExamQuestions(assessmentId, new SortedUuids(questionIds), sectionIds);
+            for (int i = 0; i < questions.size(); i++) {
+                Question question = questions.get(i);
+                exam.sectionIndexes[i] = (short) sectionOrder.indexOf(question.getSection().getSection_id());
+                exam.types[i] = question.getQuestionType() != null ? (byte) question.getQuestionType().ordinal() : -1;
+                exam.points[i] = question.getPoints() != null ? question.getPoints() : Double.NaN;
+            }
+            return exam;
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        int indexOf(UUID questionId) {
+            return ids.indexOf(questionId);
+        }
+
+        QuestionMetadata find(UUID questionId) {
+            int index = indexOf(questionId);
+            if (index < 0) {
+                return null;
+            }
+            return new QuestionMetadata(
+                    questionId,
+                    sectionIds[sectionIndexes[index]],
+                    assessmentId,
+                    types[index] >= 0 ? QUESTION_TYPES[types[index]] : null,
+                    Double.isNaN(points[index]) ? null : points[index]
+            );
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.regrade.RegradeJobResponse;
+import com.kshrd.assessment.entity.RegradeJob;
+import com.kshrd.assessment.exception.ResourceNotFoundException;
+import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.repository.RegradeJobRepository;
+import com.kshrd.assessment.service.GradingEngine.AnswerKeys;
+import com.kshrd.assessment.utils.enums.RegradeStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Re-scores already submitted answers after an answer key or points change.
+ *
+ * A job is a regrade_job row created in the same transaction as the change. It walks the affected answers in
+ * answer_id order in chunks, scores each chunk in parallel on a bounded fork-join pool, writes the scores back
+ * in a JDBC batch and advances its cursor in the same transaction, so a restarted application resumes after
+ * the last committed chunk. Attempt totals are recomputed with one set-based update at the end; attempts a
+ * teacher already graded by hand keep their score.
+ */
+@Service
+@Slf4j
+public class RegradeService {
+
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final List<RegradeStatus> UNFINISHED = List.of(RegradeStatus.PENDING, RegradeStatus.RUNNING);
+
+    private static final String SCOPE_SQL = """
+            FROM answer a
+            JOIN student_assessment sa ON sa.attempt_id = a.attempt_id
+            WHERE sa.assessment_id = ?
+              AND sa.status IN ('SUBMITTED', 'EXPIRED', 'GRADED')
+              AND (CAST(? AS uuid) IS NULL OR a.question_id = ?)
+            """;
+
+    private static final String CHUNK_SQL = """
+            SELECT a.answer_id, a.question_id,
+                   a.answer->>'selectedOption' AS selected_option, a.answer->>'value' AS tf_value
+            """ + SCOPE_SQL + """
+              AND (CAST(? AS uuid) IS NULL OR a.answer_id > ?)
+            ORDER BY a.answer_id
+            LIMIT ?
+            """;
+
+    private static final String COUNT_SQL = "SELECT count(*) " + SCOPE_SQL;
+
+    private static final String UPDATE_SCORE_SQL = "UPDATE answer SET score = ? WHERE answer_id = ?";
+
+    private static final String RECOMPUTE_TOTALS_SQL = """
+            UPDATE student_assessment sa
+            SET score = t.total, total_score = t.total
+            FROM (
+                SELECT a.attempt_id, COALESCE(SUM(a.score), 0) AS total
+                FROM answer a
+                JOIN student_assessment s ON s.attempt_id = a.attempt_id
+                WHERE s.assessment_id = ? AND s.status IN ('SUBMITTED', 'EXPIRED')
+                GROUP BY a.attempt_id
+            ) t
+            WHERE sa.attempt_id = t.attempt_id
+            """;
+
+    private record ChunkRow(UUID answerId, UUID questionId, String selectedOption, String value) {
+    }
+
+    private final RegradeJobRepository regradeJobRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final GradingEngine gradingEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ForkJoinPool scoringPool;
+    private volatile boolean shuttingDown;
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "regrade-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RegradeService(
+            RegradeJobRepository regradeJobRepository,
+            AssessmentRepository assessmentRepository,
+            GradingEngine gradingEngine,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${assessment.regrade.chunk-size:5000}") int chunkSize,
+            @Value("${assessment.regrade.parallelism:0}") int parallelism
+    ) {
+        this.regradeJobRepository = regradeJobRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.gradingEngine = gradingEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Records a job in the caller's transaction and starts it once that transaction commits.
+     */
+    public RegradeJob enqueue(UUID assessmentId, UUID questionId) {
+        RegradeJob job = new RegradeJob();
+        job.setAssessmentId(assessmentId);
+        job.setQuestionId(questionId);
+        job.setStatus(RegradeStatus.PENDING);
+        job.setCreatedAt(LocalDateTime.now(UTC_ZONE));
+        RegradeJob saved = regradeJobRepository.save(job);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(saved.getJobId());
+                }
+            });
+        } else {
+            submit(saved.getJobId());
+        }
+        log.info("Queued re-grade job {} for assessment {} (question {})", saved.getJobId(), assessmentId, questionId);
+        return saved;
+    }
+
+    /**
+     * Re-grades every auto-graded answer of the assessment, e.g. after keys were fixed outside the API.
+     */
+    public RegradeJobResponse startFullRegrade(UUID assessmentId) {
+        if (!assessmentRepository.existsById(assessmentId)) {
+            throw new ResourceNotFoundException("Assessment", assessmentId.toString());
+        }
+        return toResponse(enqueue(assessmentId, null));
+    }
+
+    public RegradeJobResponse getJob(UUID jobId) {
+        return regradeJobRepository.findById(jobId)
+                .map(RegradeService::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Re-grade job", jobId.toString()));
+    }
+
+    public List<RegradeJobResponse> getJobsByAssessment(UUID assessmentId) {
+        return regradeJobRepository.findByAssessmentIdOrderByCreatedAtDesc(assessmentId).stream()
+                .map(RegradeService::toResponse)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<RegradeJob> unfinished = regradeJobRepository.findByStatusInOrderByCreatedAtAsc(UNFINISHED);
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} unfinished re-grade jobs", unfinished.size());
+            unfinished.forEach(job -> submit(job.getJobId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs stay RUNNING and are resumed from their cursor on the next start
+        shuttingDown = true;
+        jobRunner.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    private void submit(UUID jobId) {
+        jobRunner.execute(() -> run(jobId));
+    }
+
+    private void run(UUID jobId) {
+        RegradeJob job = regradeJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == RegradeStatus.COMPLETED || job.getStatus() == RegradeStatus.FAILED) {
+            return;
+        }
+        try {
+            // Always read the keys from the database, the cache may not have seen the change yet
+            AnswerKeys keys = gradingEngine.compile(job.getAssessmentId());
+            start(job);
+
+            UUID cursor = job.getLastAnswerId();
+            while (!shuttingDown) {
+                List<ChunkRow> chunk = readChunk(job, cursor);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                double[] scores = score(keys, chunk);
+                cursor = chunk.get(chunk.size() - 1).answerId();
+                writeChunk(jobId, chunk, scores, cursor);
+            }
+            if (shuttingDown) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                int attempts = jdbcTemplate.update(RECOMPUTE_TOTALS_SQL, job.getAssessmentId());
+                RegradeJob current = regradeJobRepository.findById(jobId).orElseThrow();
+                current.setStatus(RegradeStatus.COMPLETED);
+                current.setFinishedAt(LocalDateTime.now(UTC_ZONE));
+                regradeJobRepository.save(current);
+                log.info("Re-grade job {} completed: {} answers, {} attempt totals recomputed",
+                        jobId, current.getProcessedAnswers(), attempts);
+            });
+        } catch (RuntimeException e) {
+            if (shuttingDown) {
+                log.info("Re-grade job {} interrupted by shutdown, it resumes on the next start", jobId);
+                return;
+            }
+            log.error("Re-grade job {} failed", jobId, e);
+            markFailed(jobId, e);
+        }
+    }
+
+    private void start(RegradeJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            RegradeJob current = regradeJobRepository.findById(job.getJobId()).orElseThrow();
+            if (current.getStatus() == RegradeStatus.PENDING) {
+                UUID questionId = current.getQuestionId();
+                Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class,
+                        current.getAssessmentId(), questionId, questionId);
+                current.setTotalAnswers(total != null ? total : 0L);
+                current.setStartedAt(LocalDateTime.now(UTC_ZONE));
+                current.setStatus(RegradeStatus.RUNNING);
+                regradeJobRepository.save(current);
+            }
+        });
+    }
+
+    private List<ChunkRow> readChunk(RegradeJob job, UUID cursor) {
+        return jdbcTemplate.query(CHUNK_SQL, (rs, rowNum) -> new ChunkRow(
+                        rs.getObject("answer_id", UUID.class),
+                        rs.getObject("question_id", UUID.class),
+                        rs.getString("selected_option"),
+                        rs.getString("tf_value")),
+                job.getAssessmentId(), job.getQuestionId(), job.getQuestionId(), cursor, cursor, chunkSize);
+    }
+
+    /**
+     * Scores a chunk on the bounded pool. NaN marks an answer to a question that is not auto-graded.
+     */
+    private double[] score(AnswerKeys keys, List<ChunkRow> chunk) {
+        double[] scores = new double[chunk.size()];
+        try {
+            scoringPool.submit(() -> IntStream.range(0, chunk.size()).parallel().forEach(i -> {
+                ChunkRow row = chunk.get(i);
+                int index = keys.indexOf(row.questionId());
+                scores[i] = index >= 0 && keys.isAutoGraded(index)
+                        ? keys.score(index, row.selectedOption(), row.value())
+                        : Double.NaN;
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Re-grade interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scoring failed", e.getCause());
+        }
+        return scores;
+    }
+
+    private void writeChunk(UUID jobId, List<ChunkRow> chunk, double[] scores, UUID cursor) {
+        List<Object[]> batch = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!Double.isNaN(scores[i])) {
+                batch.add(new Object[]{scores[i], chunk.get(i).answerId()});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, batch);
+            }
+            RegradeJob current = regradeJobRepository.findById(jobId).orElseThrow();
+            current.setLastAnswerId(cursor);
+            current.setProcessedAnswers(current.getProcessedAnswers() + chunk.size());
+            regradeJobRepository.save(current);
+        });
+    }
+
+    private void markFailed(UUID jobId, RuntimeException e) {
+        transactionTemplate.executeWithoutResult(status -> regradeJobRepository.findById(jobId).ifPresent(job -> {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.setStatus(RegradeStatus.FAILED);
+            job.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            job.setFinishedAt(LocalDateTime.now(UTC_ZONE));
+            regradeJobRepository.save(job);
+        }));
+    }
+
+    private static RegradeJobResponse toResponse(RegradeJob job) {
+        double answersPerSecond = 0.0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now(UTC_ZONE);
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                answersPerSecond = job.getProcessedAnswers() * 1000.0 / millis;
+            }
+        }
+        return new RegradeJobResponse(
+                job.getJobId(),
+                job.getAssessmentId(),
+                job.getQuestionId(),
+                job.getStatus(),
+                job.getTotalAnswers(),
+                job.getProcessedAnswers(),
+                answersPerSecond,
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
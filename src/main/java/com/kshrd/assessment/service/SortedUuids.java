@@ -0,0 +1,51 @@
+package com.kshrd.assessment.service;
+
+import java.util.UUID;
+
+/**
+ * UUIDs stored as two parallel long arrays sorted in {@link UUID#compareTo} order, which compares the most and
+ * then the least significant bits as signed longs. Immutable once built.
+ */
+final class SortedUuids {
+
+    private final long[] mostBits;
+    private final long[] leastBits;
+
+    /**
+     * @param sortedIds ids already sorted with {@link UUID#compareTo}
+     */
+    SortedUuids(UUID[] sortedIds) {
+        this.mostBits = new long[sortedIds.length];
+        this.leastBits = new long[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            mostBits[i] = sortedIds[i].getMostSignificantBits();
+            leastBits[i] = sortedIds[i].getLeastSignificantBits();
+        }
+    }
+
+    int size() {
+        return mostBits.length;
+    }
+
+    int indexOf(UUID id) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        int low = 0;
+        int high = mostBits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compare(mostBits[mid], most);
+            if (cmp == 0) {
+                cmp = Long.compare(leastBits[mid], least);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
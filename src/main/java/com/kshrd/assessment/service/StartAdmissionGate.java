@@ -0,0 +1,128 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.monitoring.AdmissionStats;
+import com.kshrd.assessment.exception.AdmissionRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-assessment admission control for starting attempts.
+ *
+ * A whole cohort calls start at the scheduled second. Each assessment lets a fixed number of starts run at once;
+ * the rest wait in a bounded FIFO queue for at most the configured time, parked on a fair semaphore (which does
+ * not pin virtual threads). A request that finds the queue full or times out is rejected with a Retry-After
+ * estimated from the queue depth and the recent start latency. Callers must enter the gate before opening a
+ * transaction, so waiting requests never hold a connection.
+ */
+@Service
+@Slf4j
+public class StartAdmissionGate {
+
+    private record Gate(Semaphore permits, AtomicInteger waiting) {
+    }
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitMillis;
+    private final ConcurrentHashMap<UUID, Gate> gates = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final LongAccumulator longestWaitMillis = new LongAccumulator(Math::max, 0);
+    // Moving average of how long an admitted start holds its permit, seeds the Retry-After estimate
+    private volatile double averageHoldMillis = 50;
+
+    public StartAdmissionGate(
+            @Value("${assessment.admission.start.max-concurrent:16}") int maxConcurrent,
+            @Value("${assessment.admission.start.max-queued:500}") int maxQueued,
+            @Value("${assessment.admission.start.max-wait-ms:5000}") long maxWaitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Runs {@code action} once one of the assessment's start permits is free.
+     *
+     * @throws AdmissionRejectedException if the queue is full or no permit frees up in time
+     */
+    public <T> T admit(UUID assessmentId, Supplier<T> action) {
+        Gate gate = gates.computeIfAbsent(assessmentId, id -> new Gate(new Semaphore(maxConcurrent, true), new AtomicInteger()));
+        long waitStart = System.nanoTime();
+        if (!gate.permits().tryAcquire()) {
+            int depth = gate.waiting().incrementAndGet();
+            try {
+                if (depth > maxQueued) {
+                    rejectedQueueFull.increment();
+                    throw new AdmissionRejectedException("Too many students are starting this assessment, please retry shortly",
+                            retryAfterSeconds(depth));
+                }
+                if (!gate.permits().tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    rejectedTimeout.increment();
+                    throw new AdmissionRejectedException("Timed out waiting to start the assessment, please retry shortly",
+                            retryAfterSeconds(depth));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException("Interrupted while waiting to start the assessment", 1);
+            } finally {
+                gate.waiting().decrementAndGet();
+            }
+        }
+
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart);
+        totalWaitMillis.add(waited);
+        longestWaitMillis.accumulate(waited);
+        admitted.increment();
+        long holdStart = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            gate.permits().release();
+            double held = (System.nanoTime() - holdStart) / 1_000_000.0;
+            averageHoldMillis = averageHoldMillis * 0.9 + held * 0.1;
+        }
+    }
+
+    public AdmissionStats stats() {
+        long inFlight = 0;
+        long queued = 0;
+        for (Gate gate : gates.values()) {
+            inFlight += maxConcurrent - gate.permits().availablePermits();
+            queued += gate.waiting().get();
+        }
+        long count = admitted.sum();
+        return new AdmissionStats(gates.size(), inFlight, queued, count, rejectedQueueFull.sum(), rejectedTimeout.sum(),
+                count == 0 ? 0 : (double) totalWaitMillis.sum() / count, longestWaitMillis.get());
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void removeIdleGates() {
+        // A request that fetched a gate just before removal still uses it, briefly allowing one extra batch of starts
+        gates.forEach((id, gate) -> {
+            if (gate.waiting().get() == 0 && gate.permits().availablePermits() == maxConcurrent) {
+                gates.remove(id, gate);
+            }
+        });
+    }
+
+    private long retryAfterSeconds(int depth) {
+        double drainMillis = (double) depth / maxConcurrent * averageHoldMillis;
+        long seconds = (long) Math.ceil(drainMillis / 1000);
+        // Spread the retries so the rejected cohort does not come back in the same second
+        return Math.clamp(seconds, 1, 30) + ThreadLocalRandom.current().nextLong(0, 3);
+    }
+}
@@ -0,0 +1,211 @@
+package com.kshrd.assessment.service;
+
+import com.kshrd.assessment.dto.monitoring.DirectoryStats;
+import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Local copy of the students and teachers in Keycloak, held as one immutable snapshot.
+ *
+ * Keycloak resolves role members over HTTP, which takes seconds on a large realm, so directory reads never go
+ * there. The snapshot is rebuilt in the background and swapped in atomically; a refresh that fails or hangs
+ * leaves the previous snapshot serving reads until the next one succeeds. Each roster is kept sorted by
+ * username and by email, so a prefix search is a binary search into each plus a scan of the matches.
+ */
+@Service
+@Slf4j
+public class UserDirectory {
+
+    private static final long LOADING_RETRY_AFTER_SECONDS = 5;
+
+    public enum Role {
+        STUDENT, TEACHER
+    }
+
+    public record DirectoryUser(String id, String username, String email) {
+    }
+
+    // rank is the position in username order, merged search results are sorted by it
+    private record Entry(DirectoryUser user, int rank, String usernameKey, String emailKey) {
+    }
+
+    private record Roster(List<DirectoryUser> users, Entry[] byUsername, Entry[] byEmail) {
+
+        static Roster of(Collection<DirectoryUser> users) {
+            Map<String, DirectoryUser> unique = new LinkedHashMap<>();
+            users.forEach(user -> unique.put(user.id(), user));
+            List<DirectoryUser> sorted = new ArrayList<>(unique.values());
+            sorted.sort(Comparator.comparing((DirectoryUser user) -> key(user.username())).thenComparing(DirectoryUser::id));
+
+            Entry[] byUsername = new Entry[sorted.size()];
+            for (int i = 0; i < byUsername.length; i++) {
+                DirectoryUser user = sorted.get(i);
+                byUsername[i] = new Entry(user, i, key(user.username()), key(user.email()));
+            }
+            Entry[] byEmail = byUsername.clone();
+            Arrays.sort(byEmail, Comparator.comparing(Entry::emailKey).thenComparingInt(Entry::rank));
+            return new Roster(List.copyOf(sorted), byUsername, byEmail);
+        }
+    }
+
+    private record Snapshot(Roster students, Roster teachers, OffsetDateTime refreshedAt) {
+
+        Roster roster(Role role) {
+            return role == Role.STUDENT ? students : teachers;
+        }
+    }
+
+    private final long maxStalenessMillis;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private volatile long lastRefreshMillis;
+    private volatile String lastFailure;
+
+    public UserDirectory(@Value("${assessment.directory.max-staleness-ms:900000}") long maxStalenessMillis) {
+        this.maxStalenessMillis = maxStalenessMillis;
+    }
+
+    /**
+     * All users of the role, sorted by username.
+     */
+    public List<DirectoryUser> all(Role role) {
+        return current().roster(role).users();
+    }
+
+    /**
+     * Users of the role whose username or email starts with {@code prefix}, case-insensitively, in username
+     * order. A blank prefix pages over everyone.
+     */
+    public PageResponse<DirectoryUser> search(Role role, String prefix, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must be 0 or greater");
+        }
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        Roster roster = current().roster(role);
+        List<DirectoryUser> matches = prefix == null || prefix.isBlank()
+                ? roster.users()
+                : matches(roster, key(prefix.trim()));
+
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return PageResponse.of(matches.subList(from, to), org.springframework.data.domain.PageRequest.of(page, size), matches.size());
+    }
+
+    /**
+     * Swaps in a freshly loaded directory.
+     */
+    public void replace(Collection<DirectoryUser> students, Collection<DirectoryUser> teachers, long tookMillis) {
+        snapshot.set(new Snapshot(Roster.of(students), Roster.of(teachers), OffsetDateTime.now()));
+        lastRefreshMillis = tookMillis;
+        lastFailure = null;
+        refreshes.increment();
+        log.info("User directory refreshed: {} students, {} teachers in {} ms", students.size(), teachers.size(), tookMillis);
+    }
+
+    /**
+     * Records a refresh that did not complete, the current snapshot keeps serving reads.
+     */
+    public void refreshFailed(Exception e) {
+        failedRefreshes.increment();
+        lastFailure = e.getMessage();
+        Snapshot current = snapshot.get();
+        log.warn("User directory refresh failed, serving snapshot from {}: {}",
+                current != null ? current.refreshedAt() : "never", e.getMessage());
+    }
+
+    /**
+     * Adds or replaces one user without waiting for the next refresh, e.g. right after creating it. Ignored
+     * until the first full load, which will include the user anyway.
+     */
+    public void put(Role role, DirectoryUser user) {
+        snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            List<DirectoryUser> users = new ArrayList<>(current.roster(role).users());
+            users.add(user);
+            Roster updated = Roster.of(users);
+            return role == Role.STUDENT
+                    ? new Snapshot(updated, current.teachers(), current.refreshedAt())
+                    : new Snapshot(current.students(), updated, current.refreshedAt());
+        });
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    public DirectoryStats stats() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return new DirectoryStats(false, true, 0, 0, null, lastRefreshMillis, refreshes.sum(), failedRefreshes.sum(), lastFailure);
+        }
+        boolean stale = current.refreshedAt().plusNanos(maxStalenessMillis * 1_000_000).isBefore(OffsetDateTime.now());
+        return new DirectoryStats(true, stale, current.students().users().size(), current.teachers().users().size(),
+                current.refreshedAt(), lastRefreshMillis, refreshes.sum(), failedRefreshes.sum(), lastFailure);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            throw new ServiceUnavailableException("User directory is still loading", LOADING_RETRY_AFTER_SECONDS);
+        }
+        return current;
+    }
+
+    private static List<DirectoryUser> matches(Roster roster, String prefix) {
+        List<Entry> found = new ArrayList<>();
+        boolean[] seen = new boolean[roster.byUsername().length];
+        collect(roster.byUsername(), Entry::usernameKey, prefix, found, seen);
+        collect(roster.byEmail(), Entry::emailKey, prefix, found, seen);
+        found.sort(Comparator.comparingInt(Entry::rank));
+        return found.stream().map(Entry::user).toList();
+    }
+
+    private static void collect(Entry[] sorted, Function<Entry, String> key, String prefix, List<Entry> found, boolean[] seen) {
+        for (int i = lowerBound(sorted, key, prefix); i < sorted.length && key.apply(sorted[i]).startsWith(prefix); i++) {
+            Entry entry = sorted[i];
+            if (!seen[entry.rank()]) {
+                seen[entry.rank()] = true;
+                found.add(entry);
+            }
+        }
+    }
+
+    private static int lowerBound(Entry[] sorted, Function<Entry, String> key, String prefix) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.apply(sorted[mid]).compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String key(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -5,6 +5,7 @@ import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
 import com.kshrd.assessment.dto.answer.AnswerRequest;
 import com.kshrd.assessment.dto.answer.AnswerResponse;
+import com.kshrd.assessment.dto.answer.AnswerSearchCriteria;
 import com.kshrd.assessment.dto.answer.SubmitAllAnswersRequest;
 import com.kshrd.assessment.dto.answer.SubmitSingleAnswerRequest;
 import com.kshrd.assessment.dto.response.PageRequest;
@@ -13,19 +14,34 @@ import com.kshrd.assessment.entity.Answer;
 import com.kshrd.assessment.entity.Assessment;
 import com.kshrd.assessment.entity.Question;
 import com.kshrd.assessment.entity.StudentAssessment;
+import com.kshrd.assessment.repository.AnswerJdbcRepository;
+import com.kshrd.assessment.repository.AnswerJdbcRepository.AnswerListingRow;
+import com.kshrd.assessment.repository.AnswerJdbcRepository.AnswerRow;
+import com.kshrd.assessment.repository.AnswerJdbcRepository.AnswerUpsert;
 import com.kshrd.assessment.repository.AnswerRepository;
 import com.kshrd.assessment.repository.AssessmentRepository;
 import com.kshrd.assessment.repository.QuestionRepository;
 import com.kshrd.assessment.repository.StudentAssessmentRepository;
 import com.kshrd.assessment.utils.enums.Status;
 import com.kshrd.assessment.exception.ResourceNotFoundException;
+import com.kshrd.assessment.service.AnswerWriteBehindBuffer;
+import com.kshrd.assessment.service.AttemptContextCache;
+import com.kshrd.assessment.service.AttemptContextCache.AttemptContext;
 import com.kshrd.assessment.service.IAnswerService;
+import com.kshrd.assessment.service.QuestionMetadataIndex;
 import com.kshrd.assessment.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,12 +53,18 @@ import java.util.stream.Collectors;
 @LogError(logStackTrace = true, description = "Answer Service Error Handling")
 public class AnswerServiceImpl implements IAnswerService {
 
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+
     private final AnswerRepository answerRepository;
+    private final AnswerJdbcRepository answerJdbcRepository;
     private final QuestionRepository questionRepository;
     private final AssessmentRepository assessmentRepository;
     private final StudentAssessmentRepository studentAssessmentRepository;
+    private final AnswerWriteBehindBuffer answerWriteBehindBuffer;
+    private final AttemptContextCache attemptContextCache;
+    private final QuestionMetadataIndex questionMetadataIndex;
+    private final PlatformTransactionManager transactionManager;
 
-    @Transactional
     public AnswerResponse createAnswer(AnswerRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -50,38 +72,37 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        Question question = questionRepository.findById(request.questionId())
-                .orElseThrow(() -> new IllegalStateException("Question not found"));
-
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
+        AttemptContext attempt = attemptContextCache.find(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not assigned or not started"));
 
-        if (studentAssessment.getStatus() != Status.IN_PROGRESS) {
+        if (!attempt.isOpen()) {
             throw new IllegalStateException("Cannot save answer. Assessment is not in progress");
         }
 
-        UUID attemptId = studentAssessment.getAttemptId();
-
-        // Check if answer already exists for this question in this attempt
-        Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, request.questionId());
-        
-        Answer answer;
-        if (existingAnswer.isPresent()) {
-            answer = existingAnswer.get();
-            answer.setAnswer(request.answer());
-        } else {
-            answer = new Answer();
-            answer.setAttemptId(attemptId);
-            answer.setQuestion(question);
-            answer.setAnswer(request.answer());
-        }
+        UUID attemptId = attempt.attemptId();
+        // A buffered autosave for the same question would otherwise overwrite this write on its next flush
+        answerWriteBehindBuffer.flushAttempt(attemptId);
+
+        return inTransaction(false, status -> {
+            // Check if answer already exists for this question in this attempt
+            Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, request.questionId());
+
+            Answer answer;
+            if (existingAnswer.isPresent()) {
+                answer = existingAnswer.get();
+                answer.setAnswer(request.answer());
+            } else {
+                answer = new Answer();
+                answer.setAttemptId(attemptId);
+                answer.setQuestion(questionReference(request.assessmentId(), request.questionId()));
+                answer.setAnswer(request.answer());
+            }
 
-        Answer saved = answerRepository.save(answer);
-        return toResponse(saved, studentAssessment);
+            Answer saved = answerRepository.save(answer);
+            return toResponse(saved, studentId, request.assessmentId());
+        });
     }
 
-    @Transactional
     public AnswerResponse updateAnswer(UUID answerId, AnswerRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -89,7 +110,18 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
+        if (answerWriteBehindBuffer.isEnabled()) {
+            // A buffered autosave for the same question would otherwise overwrite this update on its next flush.
+            // Flushing only writes that attempt's own answers, the ownership check below still decides the update.
+            answerRepository.findById(answerId)
+                    .map(Answer::getAttemptId)
+                    .ifPresent(answerWriteBehindBuffer::flushAttempt);
+        }
 
+        return inTransaction(false, status -> updateOwnAnswer(studentId, answerId, request));
+    }
+
+    private AnswerResponse updateOwnAnswer(UUID studentId, UUID answerId, AnswerRequest request) {
         Answer answer = answerRepository.findById(answerId)
                 .orElseThrow(() -> new IllegalStateException("Answer not found"));
 
@@ -107,10 +139,9 @@ public class AnswerServiceImpl implements IAnswerService {
         answer.setAnswer(request.answer());
 
         Answer saved = answerRepository.save(answer);
-        return toResponse(saved, studentAssessment);
+        return toResponse(saved, studentAssessment.getStudentId(), studentAssessment.getAssessmentId());
     }
 
-    @Transactional
     public AnswerResponse saveOrUpdateAnswer(AnswerRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -118,11 +149,14 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
+        if (answerWriteBehindBuffer.isEnabled()) {
+            return bufferAnswer(studentId, request.assessmentId(), request.questionId(), request.answer());
+        }
+
+        AttemptContext attempt = attemptContextCache.find(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not assigned or not started"));
 
-        UUID attemptId = studentAssessment.getAttemptId();
+        UUID attemptId = attempt.attemptId();
         Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, request.questionId());
         
         if (existingAnswer.isPresent()) {
@@ -133,7 +167,6 @@ public class AnswerServiceImpl implements IAnswerService {
     }
 
     @Override
-    @Transactional
     public List<AnswerResponse> submitAllAnswers(SubmitAllAnswersRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -141,45 +174,44 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
+        AttemptContext attempt = attemptContextCache.find(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not assigned or not started"));
 
-        if (studentAssessment.getStatus() != Status.IN_PROGRESS) {
+        if (!attempt.isOpen()) {
             throw new IllegalStateException("Cannot save answers. Assessment is not in progress");
         }
 
-        UUID attemptId = studentAssessment.getAttemptId();
-        List<AnswerResponse> responses = new java.util.ArrayList<>();
-
-        if (request.answers() != null && !request.answers().isEmpty()) {
-            for (AnswerRequest answerRequest : request.answers()) {
-                Question question = questionRepository.findById(answerRequest.questionId())
-                        .orElseThrow(() -> new IllegalStateException("Question not found: " + answerRequest.questionId()));
-
-                Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, answerRequest.questionId());
-                
-                Answer answer;
-                if (existingAnswer.isPresent()) {
-                    answer = existingAnswer.get();
-                    answer.setAnswer(answerRequest.answer());
-                } else {
-                    answer = new Answer();
-                    answer.setAttemptId(attemptId);
-                    answer.setQuestion(question);
-                    answer.setAnswer(answerRequest.answer());
-                }
-
-                Answer saved = answerRepository.save(answer);
-                responses.add(toResponse(saved, studentAssessment));
+        if (request.answers() == null || request.answers().isEmpty()) {
+            return List.of();
+        }
+
+        UUID attemptId = attempt.attemptId();
+        answerWriteBehindBuffer.flushAttempt(attemptId);
+
+        // Last write wins when the same question appears twice, one upsert cannot touch a row twice
+        Map<UUID, Map<String, Object>> answersByQuestion = new LinkedHashMap<>();
+        for (AnswerRequest answerRequest : request.answers()) {
+            answersByQuestion.put(answerRequest.questionId(), answerRequest.answer());
+        }
+
+        for (UUID questionId : answersByQuestion.keySet()) {
+            if (!questionMetadataIndex.contains(request.assessmentId(), questionId)) {
+                throw new IllegalStateException("Question not found: " + questionId);
             }
         }
 
-        return responses;
+        List<AnswerUpsert> upserts = answersByQuestion.entrySet().stream()
+                .map(entry -> new AnswerUpsert(attemptId, entry.getKey(), entry.getValue()))
+                .toList();
+        Map<UUID, AnswerRow> savedByQuestion = inTransaction(false, status -> answerJdbcRepository.upsertAll(upserts)).stream()
+                .collect(Collectors.toMap(AnswerRow::questionId, row -> row));
+
+        return answersByQuestion.entrySet().stream()
+                .map(entry -> toResponse(savedByQuestion.get(entry.getKey()), entry.getValue(), studentId, request.assessmentId()))
+                .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
     public AnswerResponse submitSingleAnswer(SubmitSingleAnswerRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -187,96 +219,79 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        Question question = questionRepository.findById(request.questionId())
-                .orElseThrow(() -> new IllegalStateException("Question not found"));
+        if (answerWriteBehindBuffer.isEnabled()) {
+            return bufferAnswer(studentId, request.assessmentId(), request.questionId(), request.answer());
+        }
 
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
+        AttemptContext attempt = attemptContextCache.find(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not assigned or not started"));
 
-        if (studentAssessment.getStatus() != Status.IN_PROGRESS) {
+        if (!attempt.isOpen()) {
             throw new IllegalStateException("Cannot save answer. Assessment is not in progress");
         }
 
-        UUID attemptId = studentAssessment.getAttemptId();
-        Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, request.questionId());
-        
-        Answer answer;
-        if (existingAnswer.isPresent()) {
-            answer = existingAnswer.get();
-            answer.setAnswer(request.answer());
-        } else {
-            answer = new Answer();
-            answer.setAttemptId(attemptId);
-            answer.setQuestion(question);
-            answer.setAnswer(request.answer());
-        }
+        UUID attemptId = attempt.attemptId();
+        return inTransaction(false, status -> {
+            Optional<Answer> existingAnswer = answerRepository.findByAttemptIdAndQuestion_Question_id(attemptId, request.questionId());
+
+            Answer answer;
+            if (existingAnswer.isPresent()) {
+                answer = existingAnswer.get();
+                answer.setAnswer(request.answer());
+            } else {
+                answer = new Answer();
+                answer.setAttemptId(attemptId);
+                answer.setQuestion(questionReference(request.assessmentId(), request.questionId()));
+                answer.setAnswer(request.answer());
+            }
 
-        Answer saved = answerRepository.save(answer);
-        return toResponse(saved, studentAssessment);
+            Answer saved = answerRepository.save(answer);
+            return toResponse(saved, studentId, request.assessmentId());
+        });
     }
 
     @Transactional(readOnly = true)
     public List<AnswerResponse> getAnswersByAssessment(UUID assessmentId) {
-        List<StudentAssessment> attempts = studentAssessmentRepository.findByAssessmentId(assessmentId);
-        List<UUID> attemptIds = attempts.stream()
-                .map(StudentAssessment::getAttemptId)
-                .collect(Collectors.toList());
-        
-        if (attemptIds.isEmpty()) {
+        if (!studentAssessmentRepository.existsByAssessmentId(assessmentId)) {
             throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
         }
-        
-        List<Answer> allAnswers = attemptIds.stream()
-                .flatMap(attemptId -> answerRepository.findByAttemptId(attemptId).stream())
-                .collect(Collectors.toList());
-        
-        return allAnswers.stream()
-                .map(answer -> {
-                    StudentAssessment attempt = attempts.stream()
-                            .filter(a -> a.getAttemptId().equals(answer.getAttemptId()))
-                            .findFirst()
-                            .orElseThrow();
-                    return toResponse(answer, attempt);
-                })
+
+        return answerJdbcRepository.findByAssessment(assessmentId, AnswerSearchCriteria.none(), 0, 0).stream()
+                .map(row -> toResponse(row, assessmentId))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<AnswerResponse> getAnswersByAssessment(UUID assessmentId, PageRequest pageRequest) {
-        List<StudentAssessment> attempts = studentAssessmentRepository.findByAssessmentId(assessmentId);
-        List<UUID> attemptIds = attempts.stream()
-                .map(StudentAssessment::getAttemptId)
-                .collect(Collectors.toList());
-        
-        if (attemptIds.isEmpty()) {
+        return getAnswersByAssessment(assessmentId, AnswerSearchCriteria.none(), pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AnswerResponse> getAnswersByAssessment(UUID assessmentId, AnswerSearchCriteria criteria, PageRequest pageRequest) {
+        if (!studentAssessmentRepository.existsByAssessmentId(assessmentId)) {
             throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
         }
-        
+
         var pageable = pageRequest.toPageable();
-        List<Answer> allAnswers = attemptIds.stream()
-                .flatMap(attemptId -> answerRepository.findByAttemptId(attemptId).stream())
-                .collect(Collectors.toList());
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allAnswers.size());
-        List<Answer> pagedAnswers = start < allAnswers.size() ? allAnswers.subList(start, end) : java.util.Collections.emptyList();
-        
-        List<AnswerResponse> content = pagedAnswers.stream()
-                .map(answer -> {
-                    StudentAssessment attempt = attempts.stream()
-                            .filter(a -> a.getAttemptId().equals(answer.getAttemptId()))
-                            .findFirst()
-                            .orElseThrow();
-                    return toResponse(answer, attempt);
-                })
+        long offset = criteria.after() != null ? 0 : pageable.getOffset();
+        List<AnswerListingRow> rows = answerJdbcRepository.findByAssessment(assessmentId, criteria, pageable.getPageSize(), offset);
+        String nextCursor = rows.size() == pageable.getPageSize() ? rows.get(rows.size() - 1).answerId().toString() : null;
+
+        List<AnswerResponse> content = rows.stream()
+                .map(row -> toResponse(row, assessmentId))
                 .collect(Collectors.toList());
-        
-        return PageResponse.of(new org.springframework.data.domain.PageImpl<>(content, pageable, (long) allAnswers.size()));
+        if (criteria.after() != null || pageRequest.isCursorMode()) {
+            // Seeking already avoids the offset scan, the count is the only other cost of a deep page
+            Long totalElements = pageRequest.isIncludeTotal() ? answerJdbcRepository.countByAssessment(assessmentId, criteria) : null;
+            return PageResponse.ofCursor(content, pageable.getPageSize(), nextCursor, totalElements, criteria.after() == null);
+        }
+        PageResponse<AnswerResponse> response = PageResponse.of(content, pageable, answerJdbcRepository.countByAssessment(assessmentId, criteria));
+        response.setNextCursor(nextCursor);
+        return response;
     }
 
-    @Transactional(readOnly = true)
     public List<AnswerResponse> getMyAnswersByAssessment(UUID assessmentId) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -284,24 +299,24 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, assessmentId)
+        UUID attemptId = attemptContextCache.find(studentId, assessmentId)
+                .map(AttemptContext::attemptId)
                 .orElseThrow(() -> new IllegalStateException("Assessment not found"));
+        answerWriteBehindBuffer.flushAttempt(attemptId);
+        return inTransaction(true, status -> {
+            List<Answer> answers = answerRepository.findByAttemptId(attemptId);
 
-        UUID attemptId = studentAssessment.getAttemptId();
-        List<Answer> answers = answerRepository.findByAttemptId(attemptId);
-        
-        if (answers.isEmpty()) {
-            throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
-        }
-        
-        return answers.stream()
-                .map(answer -> toResponse(answer, studentAssessment))
-                .collect(Collectors.toList());
+            if (answers.isEmpty()) {
+                throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
+            }
+
+            return answers.stream()
+                    .map(answer -> toResponse(answer, studentId, assessmentId))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PageResponse<AnswerResponse> getMyAnswersByAssessment(UUID assessmentId, PageRequest pageRequest) {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -309,22 +324,23 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        StudentAssessment studentAssessment = studentAssessmentRepository
-                .findByStudentIdAndAssessmentId(studentId, assessmentId)
+        UUID attemptId = attemptContextCache.find(studentId, assessmentId)
+                .map(AttemptContext::attemptId)
                 .orElseThrow(() -> new IllegalStateException("Assessment not found"));
-
-        UUID attemptId = studentAssessment.getAttemptId();
+        answerWriteBehindBuffer.flushAttempt(attemptId);
         var pageable = pageRequest.toPageable();
-        var page = answerRepository.findByAttemptId(attemptId, pageable);
-        
-        if (page.getContent().isEmpty() && page.getTotalElements() == 0) {
-            throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
-        }
-        
-        List<AnswerResponse> content = page.getContent().stream()
-                .map(answer -> toResponse(answer, studentAssessment))
-                .collect(Collectors.toList());
-        return PageResponse.of(new org.springframework.data.domain.PageImpl<>(content, pageable, page.getTotalElements()));
+        return inTransaction(true, status -> {
+            var page = answerRepository.findByAttemptId(attemptId, pageable);
+
+            if (page.getContent().isEmpty() && page.getTotalElements() == 0) {
+                throw new ResourceNotFoundException("No answers found for assessment", assessmentId.toString());
+            }
+
+            List<AnswerResponse> content = page.getContent().stream()
+                    .map(answer -> toResponse(answer, studentId, assessmentId))
+                    .collect(Collectors.toList());
+            return PageResponse.of(new org.springframework.data.domain.PageImpl<>(content, pageable, page.getTotalElements()));
+        });
     }
 
     @Transactional(readOnly = true)
@@ -335,17 +351,62 @@ public class AnswerServiceImpl implements IAnswerService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        List<StudentAssessment> attempts = studentAssessmentRepository.findByStudentId(studentId);
-        for (StudentAssessment attempt : attempts) {
-            Optional<Answer> answer = answerRepository.findByAttemptIdAndQuestion_Question_id(attempt.getAttemptId(), questionId);
-            if (answer.isPresent()) {
-                return toResponse(answer.get(), attempt);
+        List<Object[]> latest = answerRepository.findLatestAttemptAnswer(
+                studentId, questionId, org.springframework.data.domain.PageRequest.of(0, 1));
+        if (!latest.isEmpty()) {
+            StudentAssessment attempt = (StudentAssessment) latest.get(0)[0];
+            Answer answer = (Answer) latest.get(0)[1];
+            Optional<Map<String, Object>> buffered = answerWriteBehindBuffer.findPending(attempt.getAttemptId(), questionId);
+            if (buffered.isPresent()) {
+                return toBufferedResponse(studentId, attempt.getAssessmentId(), questionId, buffered.get());
+            }
+            if (answer != null) {
+                return toResponse(answer, studentId, attempt.getAssessmentId());
             }
         }
 
         throw new ResourceNotFoundException("Answer not found for question", questionId.toString());
     }
 
+    private AnswerResponse bufferAnswer(UUID studentId, UUID assessmentId, UUID questionId, Map<String, Object> answer) {
+        AttemptContext attempt = attemptContextCache.find(studentId, assessmentId)
+                .orElseThrow(() -> new IllegalStateException("Assessment not assigned or not started"));
+
+        if (!attempt.isOpen()) {
+            throw new IllegalStateException("Cannot save answer. Assessment is not in progress");
+        }
+
+        // Rows are written later in a batch, an unknown question would only fail there
+        if (!questionMetadataIndex.contains(assessmentId, questionId)) {
+            throw new IllegalStateException("Question not found");
+        }
+
+        answerWriteBehindBuffer.save(attempt.attemptId(), questionId, answer);
+        return toBufferedResponse(studentId, assessmentId, questionId, answer);
+    }
+
+    /**
+     * Runs the body in a transaction of its own. Methods that flush the write-behind buffer open it only after
+     * the flush, which commits on a connection of its own, so a request never holds two pooled connections.
+     */
+    private <T> T inTransaction(boolean readOnly, TransactionCallback<T> body) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(body);
+    }
+
+    private Question questionReference(UUID assessmentId, UUID questionId) {
+        if (!questionMetadataIndex.contains(assessmentId, questionId)) {
+            throw new IllegalStateException("Question not found");
+        }
+        return questionRepository.getReferenceById(questionId);
+    }
+
+    private AnswerResponse toBufferedResponse(UUID studentId, UUID assessmentId, UUID questionId, Map<String, Object> answer) {
+        LocalDateTime now = LocalDateTime.now(UTC_ZONE);
+        return new AnswerResponse(null, studentId, questionId, assessmentId, answer, null, now, now);
+    }
+
     public boolean isAnswerOwner(UUID answerId) {
         UUID currentUserId = SecurityUtils.getCurrentUserId();
         
@@ -362,12 +423,38 @@ public class AnswerServiceImpl implements IAnswerService {
                 .orElse(false);
     }
 
-    private AnswerResponse toResponse(Answer answer, StudentAssessment studentAssessment) {
+    private AnswerResponse toResponse(AnswerListingRow row, UUID assessmentId) {
+        return new AnswerResponse(
+                row.answerId(),
+                row.studentId(),
+                row.questionId(),
+                assessmentId,
+                row.answer(),
+                row.score(),
+                row.savedAt() != null ? row.savedAt().toLocalDateTime() : null,
+                row.savedAt() != null ? row.savedAt().toLocalDateTime() : null
+        );
+    }
+
+    private AnswerResponse toResponse(AnswerRow row, Map<String, Object> answer, UUID studentId, UUID assessmentId) {
+        return new AnswerResponse(
+                row.answerId(),
+                studentId,
+                row.questionId(),
+                assessmentId,
+                answer,
+                row.score(),
+                row.savedAt() != null ? row.savedAt().toLocalDateTime() : null,
+                row.savedAt() != null ? row.savedAt().toLocalDateTime() : null
+        );
+    }
+
+    private AnswerResponse toResponse(Answer answer, UUID studentId, UUID assessmentId) {
         return new AnswerResponse(
                 answer.getAnswerId(),
-                studentAssessment.getStudentId(),
+                studentId,
                 answer.getQuestion().getQuestion_id(),
-                studentAssessment.getAssessmentId(),
+                assessmentId,
                 answer.getAnswer(),
                 answer.getScore(),
                 answer.getSavedAt() != null ? answer.getSavedAt().toLocalDateTime() : null,
@@ -5,24 +5,36 @@ import com.kshrd.assessment.aop.annotation.LogError;
 import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
 import com.kshrd.assessment.dto.classroom.AssignAssessmentToClassroomRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsRequest;
+import com.kshrd.assessment.dto.classroom.AssignClassroomsResponse;
 import com.kshrd.assessment.dto.classroom.ClassroomRequest;
 import com.kshrd.assessment.dto.classroom.ClassroomResponse;
+import com.kshrd.assessment.dto.classroom.ClassroomStudentsRequest;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
 import com.kshrd.assessment.entity.Classroom;
-import com.kshrd.assessment.entity.ClassroomAssessment;
 import com.kshrd.assessment.exception.ResourceNotFoundException;
 import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.repository.ClassroomAssessmentLink;
 import com.kshrd.assessment.repository.ClassroomAssessmentRepository;
 import com.kshrd.assessment.repository.ClassroomRepository;
+import com.kshrd.assessment.repository.ClassroomStudentRepository;
+import com.kshrd.assessment.repository.KeysetPager;
+import com.kshrd.assessment.repository.NameMatch;
+import com.kshrd.assessment.service.AssignmentFanOut;
 import com.kshrd.assessment.service.IClassroomService;
 import com.kshrd.assessment.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,9 +46,14 @@ import java.util.stream.Collectors;
 @AuditSecurity(action = "Classroom Management", resource = "Classroom", logParameters = true)
 public class ClassroomServiceImpl implements IClassroomService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ClassroomRepository classroomRepository;
     private final AssessmentRepository assessmentRepository;
     private final ClassroomAssessmentRepository classroomAssessmentRepository;
+    private final KeysetPager keysetPager;
+    private final ClassroomStudentRepository classroomStudentRepository;
+    private final AssignmentFanOut assignmentFanOut;
 
     @Override
     @Transactional
@@ -106,6 +123,7 @@ public class ClassroomServiceImpl implements IClassroomService {
         Classroom classroom = classroomRepository.findByClassroomIdAndTeacherId(classroomId, currentUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom", classroomId.toString()));
 
+        classroomStudentRepository.deleteByClassroomId(classroomId);
         classroomRepository.delete(classroom);
     }
 
@@ -132,9 +150,7 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new ResourceNotFoundException("No classrooms found for current user", currentUserId.toString());
         }
 
-        return classrooms.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(classrooms);
     }
 
     @Override
@@ -146,6 +162,10 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new IllegalStateException("User is not authenticated");
         }
 
+        if (pageRequest.isCursorMode()) {
+            Specification<Classroom> mine = (root, query, cb) -> cb.equal(root.get("teacherId"), currentUserId);
+            return classroomCursorPage(mine, pageRequest);
+        }
         var pageable = pageRequest.toPageable();
         var page = pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()
                 ? classroomRepository.findByTeacherIdAndClassNameContainingIgnoreCase(
@@ -156,12 +176,28 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new ResourceNotFoundException("No classrooms found for current user", currentUserId.toString());
         }
 
-        var content = page.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        var content = toResponses(page.getContent());
         return PageResponse.of(new PageImpl<>(content, pageable, page.getTotalElements()));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchSuggestion> suggestMyClassrooms(String term, int limit) {
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+        
+        if (currentUserId == null) {
+            throw new IllegalStateException("User is not authenticated");
+        }
+        if (term == null || term.isBlank()) {
+            return List.of();
+        }
+
+        return classroomRepository.suggestByTeacherId(currentUserId, NameMatch.prefixPattern(term), term.trim().toLowerCase(),
+                        Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                .map(match -> new SearchSuggestion(match.getId(), match.getName()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ClassroomResponse> getAllClassrooms() {
@@ -171,14 +207,15 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new ResourceNotFoundException("No classrooms found");
         }
 
-        return classrooms.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(classrooms);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<ClassroomResponse> getAllClassrooms(PageRequest pageRequest) {
+        if (pageRequest.isCursorMode()) {
+            return classroomCursorPage(null, pageRequest);
+        }
         var pageable = pageRequest.toPageable();
         var page = pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()
                 ? classroomRepository.findByClassNameContainingIgnoreCase(pageRequest.getSearch().trim(), pageable)
@@ -188,12 +225,22 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new ResourceNotFoundException("No classrooms found");
         }
 
-        var content = page.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        var content = toResponses(page.getContent());
         return PageResponse.of(new PageImpl<>(content, pageable, page.getTotalElements()));
     }
 
+    private PageResponse<ClassroomResponse> classroomCursorPage(Specification<Classroom> filter, PageRequest pageRequest) {
+        String search = pageRequest.getSearch() != null ? pageRequest.getSearch().trim().toLowerCase() : "";
+        if (!search.isEmpty()) {
+            Specification<Classroom> nameMatches = (root, query, cb) -> cb.like(cb.lower(root.get("className")), "%" + search + "%");
+            filter = filter != null ? filter.and(nameMatches) : nameMatches;
+        }
+        var page = keysetPager.page(Classroom.class, "classroomId", filter, pageRequest);
+        var content = toResponses(page.content());
+        return PageResponse.ofCursor(content, pageRequest.getSize(), page.nextCursor(), page.totalElements(),
+                pageRequest.getCursor().isBlank());
+    }
+
     @Override
     @Transactional
     public ClassroomResponse assignAssessmentsToClassroom(UUID classroomId, AssignAssessmentToClassroomRequest request) {
@@ -206,19 +253,13 @@ public class ClassroomServiceImpl implements IClassroomService {
         Classroom classroom = classroomRepository.findByClassroomIdAndTeacherId(classroomId, currentUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom", classroomId.toString()));
 
-        for (UUID assessmentId : request.assessmentIds()) {
-            if (!assessmentRepository.existsById(assessmentId)) {
-                throw new ResourceNotFoundException("Assessment", assessmentId.toString());
-            }
-
-            if (!classroomAssessmentRepository.existsByAssessmentIdAndClassroomId(assessmentId, classroomId)) {
-                ClassroomAssessment classroomAssessment = new ClassroomAssessment();
-                classroomAssessment.setAssessmentId(assessmentId);
-                classroomAssessment.setClassroomId(classroomId);
-                classroomAssessmentRepository.save(classroomAssessment);
-            }
+        Set<UUID> requested = new LinkedHashSet<>(request.assessmentIds());
+        if (assessmentRepository.countByIds(requested) != requested.size()) {
+            throw new ResourceNotFoundException("One or more assessments were not found");
         }
 
+        assignmentFanOut.assign(List.of(classroomId), requested);
+
         return toResponse(classroom);
     }
 
@@ -241,6 +282,63 @@ public class ClassroomServiceImpl implements IClassroomService {
         return toResponse(classroom);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> getClassroomStudents(UUID classroomId) {
+        ownedClassroom(classroomId);
+        return classroomStudentRepository.findStudentIdsByClassroomId(classroomId);
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> addStudentsToClassroom(UUID classroomId, ClassroomStudentsRequest request) {
+        ownedClassroom(classroomId);
+        assignmentFanOut.addToRoster(classroomId, request.studentIds());
+        return classroomStudentRepository.findStudentIdsByClassroomId(classroomId);
+    }
+
+    @Override
+    @Transactional
+    public List<UUID> removeStudentsFromClassroom(UUID classroomId, ClassroomStudentsRequest request) {
+        ownedClassroom(classroomId);
+        classroomStudentRepository.deleteByClassroomIdAndStudentIdIn(classroomId, request.studentIds());
+        return classroomStudentRepository.findStudentIdsByClassroomId(classroomId);
+    }
+
+    @Override
+    @Transactional
+    public AssignClassroomsResponse assignAssessmentsToClassrooms(AssignClassroomsRequest request) {
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+        
+        if (currentUserId == null) {
+            throw new IllegalStateException("User is not authenticated");
+        }
+
+        Set<UUID> classroomIds = new LinkedHashSet<>(request.classroomIds());
+        Set<UUID> assessmentIds = new LinkedHashSet<>(request.assessmentIds());
+        if (classroomRepository.countByClassroomIdInAndTeacherId(classroomIds, currentUserId) != classroomIds.size()) {
+            throw new ResourceNotFoundException("One or more classrooms were not found for current user");
+        }
+        if (assessmentRepository.countByIds(assessmentIds) != assessmentIds.size()) {
+            throw new ResourceNotFoundException("One or more assessments were not found");
+        }
+
+        AssignmentFanOut.Assigned assigned = assignmentFanOut.assign(classroomIds, assessmentIds);
+        return new AssignClassroomsResponse(classroomIds.size(), assessmentIds.size(),
+                assigned.classroomLinksCreated(), assigned.attemptsCreated());
+    }
+
+    private Classroom ownedClassroom(UUID classroomId) {
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+        
+        if (currentUserId == null) {
+            throw new IllegalStateException("User is not authenticated");
+        }
+
+        return classroomRepository.findByClassroomIdAndTeacherId(classroomId, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Classroom", classroomId.toString()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ClassroomResponse> getClassroomsBySubjectId(UUID subjectId) {
@@ -250,14 +348,30 @@ public class ClassroomServiceImpl implements IClassroomService {
             throw new ResourceNotFoundException("No classrooms found for subject", subjectId.toString());
         }
 
-        return classrooms.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(classrooms);
     }
 
     private ClassroomResponse toResponse(Classroom classroom) {
-        List<UUID> assessmentIds = classroomAssessmentRepository.findAssessmentIdsByClassroomId(classroom.getClassroomId());
+        return toResponse(classroom, classroomAssessmentRepository.findAssessmentIdsByClassroomId(classroom.getClassroomId()));
+    }
+
+    /**
+     * Maps a list of classrooms with one query for all of their assessment IDs.
+     */
+    private List<ClassroomResponse> toResponses(List<Classroom> classrooms) {
+        if (classrooms.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, List<UUID>> assessmentIds = classroomAssessmentRepository
+                .findLinksByClassroomIdIn(classrooms.stream().map(Classroom::getClassroomId).toList()).stream()
+                .collect(Collectors.groupingBy(ClassroomAssessmentLink::classroomId,
+                        Collectors.mapping(ClassroomAssessmentLink::assessmentId, Collectors.toList())));
+        return classrooms.stream()
+                .map(classroom -> toResponse(classroom, assessmentIds.getOrDefault(classroom.getClassroomId(), List.of())))
+                .collect(Collectors.toList());
+    }
 
+    private ClassroomResponse toResponse(Classroom classroom, List<UUID> assessmentIds) {
         return new ClassroomResponse(
                 classroom.getClassroomId(),
                 classroom.getClassName(),
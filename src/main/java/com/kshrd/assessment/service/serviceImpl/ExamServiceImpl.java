@@ -1,20 +1,28 @@
 package com.kshrd.assessment.service.serviceImpl;
 
+import com.kshrd.assessment.dto.exam.CloneExamsRequest;
+import com.kshrd.assessment.dto.exam.ClonedExamResponse;
 import com.kshrd.assessment.dto.exam.ExamRequest;
 import com.kshrd.assessment.dto.exam.ExamResponse;
 import com.kshrd.assessment.dto.exam.ExamScheduleRequest;
 import com.kshrd.assessment.dto.exam.ExamScheduleResponse;
+import com.kshrd.assessment.dto.exam.QuestionRequest;
 import com.kshrd.assessment.dto.exam.QuestionResponse;
 import com.kshrd.assessment.dto.exam.QuestionUpdateRequest;
+import com.kshrd.assessment.dto.exam.SectionRequest;
 import com.kshrd.assessment.dto.exam.SectionResponse;
 import com.kshrd.assessment.dto.exam.SectionUpdateRequest;
 import com.kshrd.assessment.dto.response.PageRequest;
 import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.dto.response.SearchSuggestion;
 import com.kshrd.assessment.entity.Assessment;
 import com.kshrd.assessment.entity.Question;
 import com.kshrd.assessment.entity.Section;
 import com.kshrd.assessment.mapper.IExamMapper;
 import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.repository.ExamSummary;
+import com.kshrd.assessment.repository.KeysetPager;
+import com.kshrd.assessment.repository.NameMatch;
 import com.kshrd.assessment.repository.QuestionRepository;
 import com.kshrd.assessment.repository.SectionRepository;
 import com.kshrd.assessment.repository.StudentAssessmentRepository;
@@ -22,8 +30,15 @@ import com.kshrd.assessment.aop.annotation.LogError;
 import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
 import com.kshrd.assessment.exception.ResourceNotFoundException;
+import com.kshrd.assessment.service.AttemptContextCache;
+import com.kshrd.assessment.service.ExamCloneEngine;
+import com.kshrd.assessment.service.ExamContentChangedEvent;
+import com.kshrd.assessment.service.ExamSchedulerService;
+import com.kshrd.assessment.service.ExamSnapshotCache;
+import com.kshrd.assessment.service.ExamSnapshotCache.ExamSnapshot;
 import com.kshrd.assessment.service.ExamValidationService;
 import com.kshrd.assessment.service.IExamService;
+import com.kshrd.assessment.service.RegradeService;
 import com.kshrd.assessment.utils.SecurityUtils;
 import jakarta.ws.rs.NotFoundException;
 import lombok.AllArgsConstructor;
@@ -32,13 +47,18 @@ import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -51,6 +71,8 @@ import java.util.stream.Collectors;
 public class ExamServiceImpl implements IExamService {
     private static final Logger log = LoggerFactory.getLogger(ExamServiceImpl.class);
     private static final ZoneId CAMBODIA_ZONE = ZoneId.of("Asia/Phnom_Penh");
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final String CLONE_SUFFIX = " (Copy)";
 
     private final AssessmentRepository assessmentRepository;
     private final SectionRepository sectionRepository;
@@ -58,44 +80,43 @@ public class ExamServiceImpl implements IExamService {
     private final StudentAssessmentRepository studentAssessmentRepository;
     private final IExamMapper examMapper;
     private final ExamValidationService examValidationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegradeService regradeService;
+    private final ExamSchedulerService examSchedulerService;
+    private final ExamSnapshotCache examSnapshotCache;
+    private final AttemptContextCache attemptContextCache;
+    private final KeysetPager keysetPager;
+    private final ExamCloneEngine examCloneEngine;
 
     @Transactional
     public ExamResponse createExam(ExamRequest request) {
+        // One persist of the whole graph: ids are generated in memory and the cascaded inserts go out as
+        // ordered JDBC batches, sections first, then questions
         Assessment assessment = getAssessment(request);
-        Assessment saved = assessmentRepository.save(assessment);
-        if (request.sections() != null && !request.sections().isEmpty()) {
-            final Assessment assessmentForLambda = saved;
-            List<Section> sections = request.sections().stream()
-                    .map(sectionRequest -> {
-                        Section section = new Section();
-                        section.setSectionName(sectionRequest.sectionName().trim());
-                        section.setAssessment(assessmentForLambda);
-
-                        if (sectionRequest.questions() != null && !sectionRequest.questions().isEmpty()) {
-                            List<Question> questions = sectionRequest.questions().stream()
-                                    .map(questionRequest -> {
-                                        Question question = new Question();
-                                        question.setQuestionType(questionRequest.questionType());
-                                        question.setImage(questionRequest.image());
-                                        question.setQuestionContent(questionRequest.questionContent());
-                                        question.setPoints(questionRequest.points());
-                                        question.setSection(section);
-                                        return question;
-                                    })
-                                    .collect(Collectors.toList());
-                            section.setQuestions(questions);
-                        }
-                        return section;
-                    })
-                    .collect(Collectors.toList());
-            saved.setSections(sections);
-            saved = assessmentRepository.save(saved);
-        }
-        saved = assessmentRepository.findByIdWithSections(saved.getAssessment_id())
-                .orElse(saved);
-        if (saved != null) {
-            initializeQuestions(saved);
+        List<Section> sections = new ArrayList<>();
+        if (request.sections() != null) {
+            for (SectionRequest sectionRequest : request.sections()) {
+                Section section = new Section();
+                section.setSectionName(sectionRequest.sectionName().trim());
+                section.setAssessment(assessment);
+                List<Question> questions = new ArrayList<>();
+                if (sectionRequest.questions() != null) {
+                    for (QuestionRequest questionRequest : sectionRequest.questions()) {
+                        Question question = new Question();
+                        question.setQuestionType(questionRequest.questionType());
+                        question.setImage(questionRequest.image());
+                        question.setQuestionContent(questionRequest.questionContent());
+                        question.setPoints(questionRequest.points());
+                        question.setSection(section);
+                        questions.add(question);
+                    }
+                }
+                section.setQuestions(questions);
+                sections.add(section);
+            }
         }
+        assessment.setSections(sections);
+        Assessment saved = assessmentRepository.save(assessment);
         return examMapper.toResponse(saved);
     }
 
@@ -105,9 +126,11 @@ public class ExamServiceImpl implements IExamService {
         assessment.setIsQuiz(request.isQuiz());
         assessment.setSubjectId(request.subjectId());
         if (request.schedule() != null) {
-            assessment.setAssessmentDate(request.schedule().assessmentDate());
-            assessment.setStartTime(request.schedule().startTime());
-            assessment.setEndTime(request.schedule().endTime());
+            assessment.setSchedule(
+                    request.schedule().assessmentDate(),
+                    request.schedule().startTime(),
+                    request.schedule().endTime()
+            );
         }
         return assessment;
     }
@@ -137,13 +160,9 @@ public class ExamServiceImpl implements IExamService {
     @Transactional(readOnly = true)
     public List<ExamResponse>getMyExams() {
         UUID currentUser =  SecurityUtils.getCurrentUserId();
-        List<Assessment> assessments = assessmentRepository.findByCreatedBy(currentUser);
-        return assessments.stream()
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+        List<ExamSummary> summaries = assessmentRepository.findSummariesByCreatedBy(currentUser);
+        return summaries.stream()
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
     }
 
@@ -151,69 +170,71 @@ public class ExamServiceImpl implements IExamService {
     @Transactional(readOnly = true)
     public PageResponse<ExamResponse> getMyExams(PageRequest pageRequest) {
         UUID currentUser = SecurityUtils.getCurrentUserId();
+        if (pageRequest.isCursorMode()) {
+            Specification<Assessment> mine = (root, query, cb) -> cb.equal(root.get("createdBy"), currentUser);
+            return examCursorPage(mine, pageRequest);
+        }
         var pageable = pageRequest.toPageable();
         var page = pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()
-                ? assessmentRepository.findByCreatedByAndNameContainingIgnoreCase(currentUser, pageRequest.getSearch().trim(), pageable)
-                : assessmentRepository.findByCreatedBy(currentUser, pageable);
+                ? assessmentRepository.findSummariesByCreatedByAndNameContaining(currentUser, pageRequest.getSearch().trim(), pageable)
+                : assessmentRepository.findSummariesByCreatedBy(currentUser, pageable);
         
         if (page.getContent().isEmpty() && page.getTotalElements() == 0) {
             throw new ResourceNotFoundException("No exams found for user", currentUser.toString());
         }
         
         var content = page.getContent().stream()
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
         return PageResponse.of(content, pageable, page.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchSuggestion> suggestMyExams(String term, int limit) {
+        if (term == null || term.isBlank()) {
+            return List.of();
+        }
+        UUID currentUser = SecurityUtils.getCurrentUserId();
+        return assessmentRepository.suggestByCreatedBy(currentUser, NameMatch.prefixPattern(term), term.trim().toLowerCase(),
+                        Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                .map(match -> new SearchSuggestion(match.getId(), match.getName()))
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<ExamResponse> getAllExams() {
-        List<Assessment> assessments = assessmentRepository.findAll();
-        return assessments.stream()
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+        List<ExamSummary> summaries = assessmentRepository.findAllSummaries();
+        return summaries.stream()
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<ExamResponse> getAllExams(PageRequest pageRequest) {
+        if (pageRequest.isCursorMode()) {
+            return examCursorPage(null, pageRequest);
+        }
         var pageable = pageRequest.toPageable();
         var page = pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()
-                ? assessmentRepository.findByNameContainingIgnoreCase(pageRequest.getSearch().trim(), pageable)
-                : assessmentRepository.findAll(pageable);
+                ? assessmentRepository.findSummariesByNameContaining(pageRequest.getSearch().trim(), pageable)
+                : assessmentRepository.findAllSummaries(pageable);
         
         if (page.getContent().isEmpty() && page.getTotalElements() == 0) {
             throw new ResourceNotFoundException("No exams found");
         }
         
         var content = page.getContent().stream()
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
         return PageResponse.of(content, pageable, page.getTotalElements());
     }
 
     @Transactional(readOnly = true)
     public List<ExamResponse> getActiveExams() {
-        List<Assessment> publishedAssessments = assessmentRepository.findPublishedExamsWithSchedule();
-        return publishedAssessments.stream()
-                .filter(examValidationService::isExamActive)
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+        return assessmentRepository.findActiveExamSummaries(OffsetDateTime.now()).stream()
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
     }
 
@@ -221,23 +242,44 @@ public class ExamServiceImpl implements IExamService {
     @Transactional(readOnly = true)
     public PageResponse<ExamResponse> getActiveExams(PageRequest pageRequest) {
         var pageable = pageRequest.toPageable();
+        OffsetDateTime now = OffsetDateTime.now();
         var page = pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()
-                ? assessmentRepository.findPublishedExamsWithScheduleAndNameContaining(pageRequest.getSearch().trim(), pageable)
-                : assessmentRepository.findPublishedExamsWithSchedule(pageable);
-        var filteredContent = page.getContent().stream()
-                .filter(examValidationService::isExamActive)
-                .map(assessment -> {
-                    Long totalSections = sectionRepository.countByAssessment_Assessment_id(assessment.getAssessment_id());
-                    Long totalQuestions = questionRepository.countByAssessmentId(assessment.getAssessment_id());
-                    return examMapper.toResponseWithoutSections(assessment, totalSections, totalQuestions);
-                })
+                ? assessmentRepository.findActiveExamSummariesByNameContaining(now, pageRequest.getSearch().trim(), pageable)
+                : assessmentRepository.findActiveExamSummaries(now, pageable);
+        var content = page.getContent().stream()
+                .map(this::toListResponse)
                 .collect(Collectors.toList());
         
-        if (filteredContent.isEmpty() && page.getTotalElements() == 0) {
+        if (content.isEmpty() && page.getTotalElements() == 0) {
             throw new ResourceNotFoundException("No active exams found");
         }
         
-        return PageResponse.of(filteredContent, pageable, page.getTotalElements());
+        return PageResponse.of(content, pageable, page.getTotalElements());
+    }
+    
+    /**
+     * Seeks one page of exams and loads their counts with a single summary query over the page's ids.
+     */
+    private PageResponse<ExamResponse> examCursorPage(Specification<Assessment> filter, PageRequest pageRequest) {
+        String search = pageRequest.getSearch() != null ? pageRequest.getSearch().trim().toLowerCase() : "";
+        if (!search.isEmpty()) {
+            Specification<Assessment> nameMatches = (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + search + "%");
+            filter = filter != null ? filter.and(nameMatches) : nameMatches;
+        }
+        var page = keysetPager.page(Assessment.class, "assessment_id", filter, pageRequest);
+        Map<UUID, ExamSummary> summaries = page.content().isEmpty()
+                ? Map.of()
+                : assessmentRepository.findSummariesByIds(page.content().stream().map(Assessment::getAssessment_id).toList()).stream()
+                        .collect(Collectors.toMap(summary -> summary.assessment().getAssessment_id(), summary -> summary));
+        List<ExamResponse> content = page.content().stream()
+                .map(assessment -> toListResponse(summaries.get(assessment.getAssessment_id())))
+                .collect(Collectors.toList());
+        return PageResponse.ofCursor(content, pageRequest.getSize(), page.nextCursor(), page.totalElements(),
+                pageRequest.getCursor().isBlank());
+    }
+    
+    private ExamResponse toListResponse(ExamSummary summary) {
+        return examMapper.toResponseWithoutSections(summary.assessment(), summary.totalSections(), summary.totalQuestions());
     }
     
     private void initializeQuestions(Assessment assessment) {
@@ -288,12 +330,19 @@ public class ExamServiceImpl implements IExamService {
         assessment.setSubjectId(request.subjectId());
 
         if (request.schedule() != null) {
-            assessment.setAssessmentDate(request.schedule().assessmentDate());
-            assessment.setStartTime(request.schedule().startTime());
-            assessment.setEndTime(request.schedule().endTime());
+            OffsetDateTime previousEndsAt = assessment.getEndsAt();
+            assessment.setSchedule(
+                    request.schedule().assessmentDate(),
+                    request.schedule().startTime(),
+                    request.schedule().endTime()
+            );
+            if (!Objects.equals(previousEndsAt, assessment.getEndsAt())) {
+                examSchedulerService.rescheduleAssessment(examId, assessment.getEndsAt());
+            }
         }
 
         Assessment saved = assessmentRepository.save(assessment);
+        contentChanged(examId);
         saved = assessmentRepository.findByIdWithSections(saved.getAssessment_id())
                 .orElse(saved);
         if (saved != null) {
@@ -314,54 +363,43 @@ public class ExamServiceImpl implements IExamService {
             throw new IllegalStateException("Cannot update schedule after assessment has started");
         }
 
-        assessment.setAssessmentDate(request.assessmentDate());
-        assessment.setStartTime(request.startTime());
-        assessment.setEndTime(request.endTime());
+        assessment.setSchedule(request.assessmentDate(), request.startTime(), request.endTime());
 
         Assessment saved = assessmentRepository.save(assessment);
+        contentChanged(examId);
         return examMapper.toScheduleResponse(saved);
     }
 
     @Transactional
     public ExamResponse cloneExam(UUID examId) {
-        Assessment originalExam = assessmentRepository.findById(examId)
-                .orElseThrow(() -> new IllegalStateException("Exam not found"));
-
-        Assessment clonedExam = new Assessment();
-        clonedExam.setName(originalExam.getName() + " (Copy)");
-        clonedExam.setIsQuiz(originalExam.getIsQuiz());
-        clonedExam.setSubjectId(originalExam.getSubjectId());
-        clonedExam.setAssessmentDate(originalExam.getAssessmentDate());
-        clonedExam.setStartTime(originalExam.getStartTime());
-        clonedExam.setEndTime(originalExam.getEndTime());
-
-        if (originalExam.getSections() != null && !originalExam.getSections().isEmpty()) {
-            List<Section> clonedSections = originalExam.getSections().stream()
-                    .map(originalSection -> {
-                        Section clonedSection = new Section();
-                        clonedSection.setSectionName(originalSection.getSectionName());
-                        clonedSection.setAssessment(clonedExam);
-                        return clonedSection;
-                    })
-                    .collect(Collectors.toList());
-            clonedExam.setSections(clonedSections);
-        }
+        UUID clonedId = examCloneEngine.cloneAll(List.of(examId), CLONE_SUFFIX, SecurityUtils.getCurrentUserId())
+                .getFirst().examId();
+        // The copy was written with plain SQL, so this reads it fresh rather than from the persistence context
+        Assessment cloned = assessmentRepository.findByIdWithSections(clonedId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", clonedId.toString()));
+        initializeQuestions(cloned);
+        return examMapper.toResponse(cloned);
+    }
 
-        Assessment saved = assessmentRepository.save(clonedExam);
-        saved = assessmentRepository.findByIdWithSections(saved.getAssessment_id())
-                .orElse(saved);
-        if (saved != null) {
-            initializeQuestions(saved);
-        }
-        return examMapper.toResponse(saved);
+    @Override
+    @Transactional
+    public List<ClonedExamResponse> cloneExams(CloneExamsRequest request) {
+        String suffix = request.nameSuffix() != null && !request.nameSuffix().isBlank()
+                ? " " + request.nameSuffix().trim()
+                : CLONE_SUFFIX;
+        return examCloneEngine.cloneAll(request.examIds(), suffix, SecurityUtils.getCurrentUserId());
     }
 
+    /**
+     * Hides the exam at once; its attempts, answers, links, questions and sections are purged later by
+     * {@link com.kshrd.assessment.service.ExamPurgeService}.
+     */
     @Transactional
     public void deleteExam(UUID examId) {
-        if (!assessmentRepository.existsById(examId)) {
+        if (assessmentRepository.markDeleted(examId, OffsetDateTime.now()) == 0) {
             throw new IllegalStateException("Exam not found");
         }
-        assessmentRepository.deleteById(examId);
+        eventPublisher.publishEvent(ExamContentChangedEvent.deleted(examId));
     }
 
     @Transactional
@@ -371,14 +409,15 @@ public class ExamServiceImpl implements IExamService {
 
         section.setSectionName(request.sectionName());
         sectionRepository.save(section);
+        contentChanged(section.getAssessment().getAssessment_id());
     }
 
     @Transactional
     public void deleteSection(UUID sectionId) {
-        if (!sectionRepository.existsById(sectionId)) {
-            throw new IllegalStateException("Section not found");
-        }
-        sectionRepository.deleteById(sectionId);
+        Section section = sectionRepository.findById(sectionId)
+                .orElseThrow(() -> new IllegalStateException("Section not found"));
+        sectionRepository.delete(section);
+        contentChanged(section.getAssessment().getAssessment_id());
     }
 
     @Transactional
@@ -386,19 +425,53 @@ public class ExamServiceImpl implements IExamService {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new IllegalStateException("Question not found"));
 
+        boolean gradingChanged = question.getQuestionType() != request.questionType()
+                || !Objects.equals(question.getPoints(), request.points())
+                || !Objects.equals(correctKey(question.getQuestionContent()), correctKey(request.questionContent()));
+
         question.setQuestionType(request.questionType());
         question.setImage(request.image());
         question.setQuestionContent(request.questionContent());
         question.setPoints(request.points());
         questionRepository.save(question);
+
+        UUID assessmentId = question.getSection().getAssessment().getAssessment_id();
+        contentChanged(assessmentId);
+        if (gradingChanged) {
+            regradeService.enqueue(assessmentId, questionId);
+        }
+    }
+
+    private static Object correctKey(Map<String, Object> questionContent) {
+        return questionContent != null ? questionContent.get("correct") : null;
     }
 
     @Transactional
     public void deleteQuestion(UUID questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new IllegalStateException("Question not found");
-        }
-        questionRepository.deleteById(questionId);
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new IllegalStateException("Question not found"));
+        questionRepository.delete(question);
+        contentChanged(question.getSection().getAssessment().getAssessment_id());
+    }
+
+    private void contentChanged(UUID assessmentId) {
+        assessmentRepository.incrementContentVersion(assessmentId);
+        eventPublisher.publishEvent(ExamContentChangedEvent.changed(assessmentId));
+    }
+
+    public long getExamContentVersion(UUID examId) {
+        return assessmentRepository.findContentVersion(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", examId.toString()));
+    }
+
+    public long getSectionContentVersion(UUID sectionId) {
+        return sectionRepository.findContentVersion(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Section", sectionId.toString()));
+    }
+
+    public long getQuestionContentVersion(UUID questionId) {
+        return questionRepository.findContentVersion(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question", questionId.toString()));
     }
 
     public Optional<SectionResponse> getSectionById(UUID sectionId) {
@@ -420,8 +493,7 @@ public class ExamServiceImpl implements IExamService {
             throw new IllegalStateException("User is not authenticated");
         }
 
-        Assessment assessment = assessmentRepository.findByIdWithSections(examId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam", examId.toString()));
+        Assessment assessment = loadStudentView(examId);
 
         if (!examValidationService.isExamActive(assessment)) {
             throw new IllegalStateException("Exam is not currently active");
@@ -430,6 +502,38 @@ public class ExamServiceImpl implements IExamService {
         if (!studentAssessmentRepository.existsByStudentIdAndAssessmentId(studentId, examId)) {
             throw new IllegalStateException("Assessment is not assigned to this student");
         }
+        
+        return examMapper.toResponse(assessment);
+    }
+
+    public ExamSnapshot getActiveExamSnapshotForStudent(UUID examId) {
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        if (studentId == null) {
+            throw new IllegalStateException("User is not authenticated");
+        }
+
+        ExamSnapshot snapshot = examSnapshotCache.get(examId, () -> loadStudentView(examId), examMapper::toResponse);
+
+        if (!examValidationService.isExamActive(snapshot.startsAt(), snapshot.endsAt())) {
+            throw new IllegalStateException("Exam is not currently active");
+        }
+
+        if (attemptContextCache.find(studentId, examId).isEmpty()) {
+            throw new IllegalStateException("Assessment is not assigned to this student");
+        }
+
+        return snapshot;
+    }
+
+    @Override
+    public ExamSnapshot prewarmStudentView(UUID examId) {
+        return examSnapshotCache.get(examId, () -> loadStudentView(examId), examMapper::toResponse);
+    }
+
+    private Assessment loadStudentView(UUID examId) {
+        Assessment assessment = assessmentRepository.findByIdWithSections(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", examId.toString()));
 
         if (assessment.getSections() != null && !assessment.getSections().isEmpty()) {
             List<Section> sectionsWithQuestions = sectionRepository.findByAssessmentIdWithQuestions(examId);
@@ -443,7 +547,6 @@ public class ExamServiceImpl implements IExamService {
                 }
             });
         }
-        
-        return examMapper.toResponse(assessment);
+        return assessment;
     }
 }
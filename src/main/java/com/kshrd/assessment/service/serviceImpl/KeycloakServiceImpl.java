@@ -9,17 +9,25 @@ import com.kshrd.assessment.aop.annotation.AuditSecurity;
 import com.kshrd.assessment.aop.annotation.LogError;
 import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
+import com.kshrd.assessment.dto.response.PageResponse;
+import com.kshrd.assessment.exception.AdmissionRejectedException;
 import com.kshrd.assessment.service.IKeycloakService;
+import com.kshrd.assessment.service.KeycloakTokenClient;
+import com.kshrd.assessment.service.UserDirectory;
 import jakarta.ws.rs.core.Response;
 import org.jspecify.annotations.NonNull;
 import org.keycloak.OAuth2Constants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.keycloak.admin.client.ClientBuilderWrapper;
 import org.keycloak.admin.client.CreatedResponseUtil;
+import org.keycloak.admin.client.JacksonProvider;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.ClientResource;
 import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleResource;
 import org.keycloak.admin.client.resource.UserResource;
-import org.keycloak.representations.AccessTokenResponse;
 import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
@@ -29,7 +37,12 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @LogExecution(logParameters = false, logReturnValue = false, description = "Keycloak Service")
@@ -38,22 +51,36 @@ import java.util.List;
 @AuditSecurity(action = "Keycloak Authentication", resource = "Keycloak", logParameters = false)
 public class KeycloakServiceImpl implements IKeycloakService {
     private static final Logger logger = LoggerFactory.getLogger(KeycloakServiceImpl.class);
+    private static final int MEMBER_PAGE_SIZE = 500;
     private final Keycloak keycloak;
     private final String realm;
-    private final String authServerUrl;
     private final String clientId;
-    private final String clientSecret;
+    private final UserDirectory userDirectory;
+    private final KeycloakTokenClient tokenClient;
+    private final AtomicBoolean directoryRefreshing = new AtomicBoolean();
+    private final long directoryRefreshIntervalMillis;
+    private final ScheduledExecutorService directoryRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-directory-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public KeycloakServiceImpl(
+            UserDirectory userDirectory,
+            KeycloakTokenClient tokenClient,
             @Value("${keycloak.auth-server-url}") String authServerUrl,
             @Value("${keycloak.realm}") String realm,
             @Value("${keycloak.client-id}") String clientId,
-            @Value("${keycloak.client-secret}") String clientSecret
+            @Value("${keycloak.client-secret}") String clientSecret,
+            @Value("${assessment.keycloak.admin.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${assessment.keycloak.admin.read-timeout-ms:10000}") long readTimeoutMillis,
+            @Value("${assessment.directory.refresh-interval-ms:300000}") long directoryRefreshIntervalMillis
     ) {
         this.realm = realm;
-        this.authServerUrl = authServerUrl;
         this.clientId = clientId;
-        this.clientSecret = clientSecret;
+        this.userDirectory = userDirectory;
+        this.tokenClient = tokenClient;
+        this.directoryRefreshIntervalMillis = directoryRefreshIntervalMillis;
 
         if (clientSecret != null && !clientSecret.isBlank()) {
 
@@ -63,6 +90,12 @@ public class KeycloakServiceImpl implements IKeycloakService {
                     .clientId(clientId)
                     .clientSecret(clientSecret)
                     .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
+                    // Without timeouts a hung Keycloak call would block its caller for good
+                    .resteasyClient(ClientBuilderWrapper.create(null, false)
+                            .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                            .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                            .register(JacksonProvider.class, 100)
+                            .build())
                     .build();
             logger.info("Keycloak admin client initialized successfully");
         } else {
@@ -87,6 +120,8 @@ public class KeycloakServiceImpl implements IKeycloakService {
             }
             String userId = CreatedResponseUtil.getCreatedId(response);
             assignTeacherRole(userId);
+            userDirectory.put(UserDirectory.Role.TEACHER,
+                    new UserDirectory.DirectoryUser(userId, userRequest.username(), userRequest.email()));
             return userId;
         }
     }
@@ -128,53 +163,26 @@ public class KeycloakServiceImpl implements IKeycloakService {
     public LoginResponse login(LoginRequest loginRequest) {
         try {
             logger.debug("Attempting login for user: {}", loginRequest.username());
-
-            Keycloak userKeycloak;
-            try {
-                userKeycloak = KeycloakBuilder.builder()
-                        .serverUrl(authServerUrl)
-                        .realm(realm)
-                        .clientId(clientId)
-                        .clientSecret(clientSecret)
-                        .username(loginRequest.username())
-                        .password(loginRequest.password())
-                        .grantType(OAuth2Constants.PASSWORD)
-                        .build();
-
-                userKeycloak.tokenManager().getAccessToken();
-            } catch (jakarta.ws.rs.BadRequestException e) {
-                logger.warn("Client {} doesn't support password grant, trying with admin-cli", clientId);
-                userKeycloak = KeycloakBuilder.builder()
-                        .serverUrl(authServerUrl)
-                        .realm(realm)
-                        .clientId(clientId)
-                        .clientSecret(clientSecret)
-                        .username(loginRequest.username())
-                        .password(loginRequest.password())
-                        .grantType(OAuth2Constants.PASSWORD)
-                        .build();
-            }
-
-            AccessTokenResponse tokenResponse = userKeycloak.tokenManager().getAccessToken();
-
+            LoginResponse loginResponse = tokenClient.passwordGrant(loginRequest.username(), loginRequest.password());
             logger.debug("Login successful for user: {}", loginRequest.username());
-
-            return new LoginResponse(
-                    tokenResponse.getToken(),
-                    tokenResponse.getRefreshToken(),
-                    tokenResponse.getTokenType(),
-                    tokenResponse.getExpiresIn(),
-                    tokenResponse.getRefreshExpiresIn()
-            );
-        } catch (jakarta.ws.rs.BadRequestException e) {
-            logger.error("Bad request during login: {}", e.getMessage());
-            throw new RuntimeException("Login failed: The client doesn't support password grant. Please enable 'Direct Access Grants' for client '" + clientId + "' in Keycloak.", e);
-        } catch (jakarta.ws.rs.NotAuthorizedException e) {
-            logger.error("Unauthorized during login: {}", e.getMessage());
-            throw new RuntimeException("Login failed: Invalid username or password.", e);
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            logger.error("Not found during login: {}", e.getMessage());
-            throw new RuntimeException("Login failed: Realm or client not found. Please verify Keycloak configuration.", e);
+            return loginResponse;
+        } catch (KeycloakTokenClient.TokenEndpointException e) {
+            if ("unauthorized_client".equals(e.getError())) {
+                logger.error("Bad request during login: {}", e.getMessage());
+                throw new RuntimeException("Login failed: The client doesn't support password grant. Please enable 'Direct Access Grants' for client '" + clientId + "' in Keycloak.", e);
+            }
+            if (e.getStatus() == 401 || "invalid_grant".equals(e.getError())) {
+                logger.error("Unauthorized during login: {}", e.getMessage());
+                throw new RuntimeException("Login failed: Invalid username or password.", e);
+            }
+            if (e.getStatus() == 404) {
+                logger.error("Not found during login: {}", e.getMessage());
+                throw new RuntimeException("Login failed: Realm or client not found. Please verify Keycloak configuration.", e);
+            }
+            logger.error("Login error: {}", e.getMessage());
+            throw new RuntimeException("Login failed: " + e.getMessage() + ". Please check Keycloak configuration and ensure 'Direct Access Grants' is enabled for the client.", e);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Login error: {}", e.getMessage(), e);
             throw new RuntimeException("Login failed: " + e.getMessage() + ". Please check Keycloak configuration and ensure 'Direct Access Grants' is enabled for the client.", e);
@@ -187,125 +195,132 @@ public class KeycloakServiceImpl implements IKeycloakService {
 
     @Override
     public List<TeacherResponse> getAllTeachers() {
-        try {
-            RealmResource realmResource = keycloak.realm(realm);
-
-            List<UserRepresentation> users = null;
+        return userDirectory.all(UserDirectory.Role.TEACHER).stream()
+                .map(this::toTeacherResponse)
+                .toList();
+    }
 
-            try {
-                ClientRepresentation client = realmResource.clients()
-                        .findByClientId(clientId)
-                        .stream()
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalStateException("Client not found: " + clientId));
-                System.out.println("Get client Id : " + client.getId());
-                ClientResource clientResource = realmResource.clients().get(client.getId());
-                System.out.println("Get Roles : " + clientResource.roles());
+    @Override
+    public List<StudentResponse> getAllStudents() {
+        return userDirectory.all(UserDirectory.Role.STUDENT).stream()
+                .map(this::toStudentResponse)
+                .toList();
+    }
 
-                try {
-                    users = clientResource.roles()
-                            .get("role_teacher")
-                            .getUserMembers();
-                    logger.debug("Found {} users with client role 'role_teacher'", users != null ? users.size() : 0);
-                } catch (jakarta.ws.rs.NotFoundException e) {
-                    logger.debug("Client role 'role_teacher' not found, trying realm role");
-                }
-            } catch (Exception e) {
-                logger.debug("Error accessing client roles, trying realm roles: {}", e.getMessage());
-            }
+    @Override
+    public PageResponse<TeacherResponse> searchTeachers(String prefix, int page, int size) {
+        PageResponse<UserDirectory.DirectoryUser> users = userDirectory.search(UserDirectory.Role.TEACHER, prefix, page, size);
+        return withContent(users, users.getContent().stream().map(this::toTeacherResponse).toList());
+    }
 
-            if (users == null || users.isEmpty()) {
-                try {
-                    users = realmResource.roles()
-                            .get("role_teacher")
-                            .getUserMembers();
-                    logger.debug("Found {} users with realm role 'role_teacher'", users != null ? users.size() : 0);
-                } catch (jakarta.ws.rs.NotFoundException e) {
-                    logger.warn("Role 'role_teacher' not found as client or realm role: {}", e.getMessage());
-                    return java.util.Collections.emptyList();
-                }
-            }
+    @Override
+    public PageResponse<StudentResponse> searchStudents(String prefix, int page, int size) {
+        PageResponse<UserDirectory.DirectoryUser> users = userDirectory.search(UserDirectory.Role.STUDENT, prefix, page, size);
+        return withContent(users, users.getContent().stream().map(this::toStudentResponse).toList());
+    }
 
-            if (users == null || users.isEmpty()) {
-                logger.debug("No users found with role 'role_teacher'");
-                return java.util.Collections.emptyList();
-            }
+    @PostConstruct
+    void scheduleDirectoryRefresh() {
+        directoryRefresher.scheduleWithFixedDelay(this::refreshDirectory, 0, directoryRefreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
 
-            return users.stream()
-                    .map(user -> new TeacherResponse(
-                            user.getId(),
-                            safe(user.getUsername()),
-                            safe(user.getEmail())
-                    ))
-                    .toList();
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            logger.warn("Resource not found in Keycloak: {}", e.getMessage());
-            return java.util.Collections.emptyList();
-        } catch (Exception e) {
-            logger.error("Error retrieving teachers from Keycloak: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to retrieve teachers: " + e.getMessage(), e);
-        }
+    @PreDestroy
+    void shutdown() {
+        directoryRefresher.shutdownNow();
+        keycloak.close();
     }
 
+    /**
+     * Reloads the user directory from Keycloak. Runs on its own thread, never on a request or the shared
+     * scheduler; a refresh that fails or times out keeps the previous directory serving reads.
+     */
     @Override
-    public List<StudentResponse> getAllStudents() {
+    public void refreshDirectory() {
+        if (!directoryRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.nanoTime();
         try {
             RealmResource realmResource = keycloak.realm(realm);
+            String clientUuid = findClientUuid(realmResource);
+            List<UserDirectory.DirectoryUser> students = fetchRoleMembers(realmResource, clientUuid, "role_student");
+            List<UserDirectory.DirectoryUser> teachers = fetchRoleMembers(realmResource, clientUuid, "role_teacher");
+            userDirectory.replace(students, teachers, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            userDirectory.refreshFailed(e);
+        } finally {
+            directoryRefreshing.set(false);
+        }
+    }
 
-            List<UserRepresentation> students = null;
+    private String findClientUuid(RealmResource realmResource) {
+        try {
+            return realmResource.clients()
+                    .findByClientId(clientId)
+                    .stream()
+                    .findFirst()
+                    .map(ClientRepresentation::getId)
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.debug("Error accessing client {}, using realm roles: {}", clientId, e.getMessage());
+            return null;
+        }
+    }
 
+    // Client role first, falling back to the realm role of the same name when it is missing or has no members
+    private List<UserDirectory.DirectoryUser> fetchRoleMembers(RealmResource realmResource, String clientUuid, String roleName) {
+        if (clientUuid != null) {
             try {
-                ClientRepresentation client = realmResource.clients()
-                        .findByClientId(clientId)
-                        .stream()
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalStateException("Client not found: " + clientId));
-
-                ClientResource clientResource = realmResource.clients().get(client.getId());
-
-                try {
-                    students = clientResource
-                            .roles()
-                            .get("role_student")
-                            .getUserMembers();
-                    logger.debug("Found {} users with client role 'role_student'", students != null ? students.size() : 0);
-                } catch (jakarta.ws.rs.NotFoundException e) {
-                    logger.debug("Client role 'role_student' not found, trying realm role");
+                List<UserDirectory.DirectoryUser> users = fetchMembers(realmResource.clients().get(clientUuid).roles().get(roleName));
+                logger.debug("Found {} users with client role '{}'", users.size(), roleName);
+                if (!users.isEmpty()) {
+                    return users;
                 }
-            } catch (Exception e) {
-                logger.debug("Error accessing client roles, trying realm roles: {}", e.getMessage());
+            } catch (jakarta.ws.rs.NotFoundException e) {
+                logger.debug("Client role '{}' not found, trying realm role", roleName);
             }
+        }
+        try {
+            List<UserDirectory.DirectoryUser> users = fetchMembers(realmResource.roles().get(roleName));
+            logger.debug("Found {} users with realm role '{}'", users.size(), roleName);
+            return users;
+        } catch (jakarta.ws.rs.NotFoundException e) {
+            logger.warn("Role '{}' not found as client or realm role: {}", roleName, e.getMessage());
+            return List.of();
+        }
+    }
 
-            if (students == null || students.isEmpty()) {
-                try {
-                    students = realmResource.roles()
-                            .get("role_student")
-                            .getUserMembers();
-                    logger.debug("Found {} users with realm role 'role_student'", students != null ? students.size() : 0);
-                } catch (jakarta.ws.rs.NotFoundException e) {
-                    logger.warn("Role 'role_student' not found as client or realm role: {}", e.getMessage());
-                    return java.util.Collections.emptyList();
-                }
+    // The unpaged member list stops at Keycloak's default page of 100 users
+    private static List<UserDirectory.DirectoryUser> fetchMembers(RoleResource role) {
+        List<UserDirectory.DirectoryUser> users = new ArrayList<>();
+        for (int first = 0; ; first += MEMBER_PAGE_SIZE) {
+            List<UserRepresentation> page = role.getUserMembers(true, first, MEMBER_PAGE_SIZE);
+            page.forEach(user -> users.add(new UserDirectory.DirectoryUser(user.getId(), user.getUsername(), user.getEmail())));
+            if (page.size() < MEMBER_PAGE_SIZE) {
+                return users;
             }
+        }
+    }
 
-            if (students == null || students.isEmpty()) {
-                logger.debug("No users found with role 'role_student'");
-                return java.util.Collections.emptyList();
-            }
+    private TeacherResponse toTeacherResponse(UserDirectory.DirectoryUser user) {
+        return new TeacherResponse(user.id(), safe(user.username()), safe(user.email()));
+    }
 
-            return students.stream()
-                    .map(student ->
-                            new StudentResponse(
-                                    student.getId(),
-                                    student.getUsername(),
-                                    student.getEmail()))
-                    .toList();
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            logger.warn("Resource not found in Keycloak: {}", e.getMessage());
-            return java.util.Collections.emptyList();
-        } catch (Exception e) {
-            logger.error("Error retrieving students from Keycloak: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to retrieve students: " + e.getMessage(), e);
-        }
+    private StudentResponse toStudentResponse(UserDirectory.DirectoryUser user) {
+        return new StudentResponse(user.id(), user.username(), user.email());
+    }
+
+    private static <T> PageResponse<T> withContent(PageResponse<?> page, List<T> content) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(page.getPage())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .hasNext(page.isHasNext())
+                .hasPrevious(page.isHasPrevious())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -12,22 +12,33 @@ import com.kshrd.assessment.entity.Assessment;
 import com.kshrd.assessment.entity.StudentAssessment;
 import com.kshrd.assessment.mapper.IStudentAssessmentMapper;
 import com.kshrd.assessment.repository.AssessmentRepository;
+import com.kshrd.assessment.repository.KeysetPager;
 import com.kshrd.assessment.repository.StudentAssessmentRepository;
 import com.kshrd.assessment.aop.annotation.AuditSecurity;
 import com.kshrd.assessment.aop.annotation.LogError;
 import com.kshrd.assessment.aop.annotation.LogExecution;
 import com.kshrd.assessment.aop.annotation.LogPerformance;
+import com.kshrd.assessment.service.AnswerWriteBehindBuffer;
+import com.kshrd.assessment.service.AttemptContextCache;
+import com.kshrd.assessment.service.ExamSchedulerService;
 import com.kshrd.assessment.service.ExamValidationService;
+import com.kshrd.assessment.service.GradingEngine;
+import com.kshrd.assessment.service.GradingEngine.GradeResult;
 import com.kshrd.assessment.exception.ResourceNotFoundException;
 import com.kshrd.assessment.service.IAnswerService;
 import com.kshrd.assessment.service.IStudentAssessmentService;
 import com.kshrd.assessment.utils.SecurityUtils;
 import com.kshrd.assessment.utils.enums.Status;
 import lombok.AllArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
@@ -49,6 +60,12 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
     private final IStudentAssessmentMapper mapper;
     private final ExamValidationService examValidationService;
     private final IAnswerService answerService;
+    private final AnswerWriteBehindBuffer answerWriteBehindBuffer;
+    private final AttemptContextCache attemptContextCache;
+    private final GradingEngine gradingEngine;
+    private final ExamSchedulerService examSchedulerService;
+    private final KeysetPager keysetPager;
+    private final PlatformTransactionManager transactionManager;
     
     @Transactional
     public StudentAssessmentResponse assignAssessment(StudentAssessmentRequest request) {
@@ -95,15 +112,22 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
         
         studentAssessment.setStatus(Status.IN_PROGRESS);
         studentAssessment.setJoinAt(LocalDateTime.now(UTC_ZONE));
+        studentAssessment.setStartedAt(OffsetDateTime.now(UTC_ZONE));
+        studentAssessment.setEndsAt(examValidationService.examEndsAt(assessment));
         
         StudentAssessment saved = studentAssessmentRepository.save(studentAssessment);
+        attemptContextCache.invalidate(studentId, assessmentId);
+        examSchedulerService.scheduleExpiry(saved.getAttemptId(), saved.getEndsAt());
         return mapper.toResponse(saved);
     }
     
-    @Transactional
     public StudentAssessmentResponse submitAssessment(SubmitAssessmentRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
-        
+        flushBufferedAnswers(studentId, request.assessmentId());
+        return inTransaction(status -> submit(studentId, request));
+    }
+    
+    private StudentAssessmentResponse submit(UUID studentId, SubmitAssessmentRequest request) {
         StudentAssessment studentAssessment = studentAssessmentRepository
                 .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not found"));
@@ -125,19 +149,31 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
             studentAssessment.setGradingStatus("pending");
         }
         
-        studentAssessment.setScore(request.score());
-        studentAssessment.setTotalScore(request.score());
+        // The client-reported score is ignored, answers are graded on the server
+        studentAssessmentRepository.flush();
+        GradeResult grade = gradingEngine.gradeAttempt(request.assessmentId(), studentAssessment.getAttemptId());
+        studentAssessment.setScore(grade.score());
+        studentAssessment.setTotalScore(grade.score());
         studentAssessment.setDurationInMinute(request.durationInMinute());
         studentAssessment.setSubmittedAt(LocalDateTime.now(UTC_ZONE));
         
         StudentAssessment saved = studentAssessmentRepository.save(studentAssessment);
+        attemptContextCache.invalidate(studentId, request.assessmentId());
         return mapper.toResponse(saved);
     }
     
-    @Transactional
     public StudentAssessmentResponse submitAssessmentWithAnswers(SubmitAnswersRequest request) {
         UUID studentId = SecurityUtils.getCurrentUserId();
-        
+        if (answerWriteBehindBuffer.isEnabled()) {
+            // Buffered saves need no transaction, so they and the flush happen before the submit opens one
+            saveAnswers(request);
+            flushBufferedAnswers(studentId, request.assessmentId());
+            return inTransaction(status -> submitWithAnswers(studentId, request, false));
+        }
+        return inTransaction(status -> submitWithAnswers(studentId, request, true));
+    }
+    
+    private StudentAssessmentResponse submitWithAnswers(UUID studentId, SubmitAnswersRequest request, boolean saveAnswers) {
         StudentAssessment studentAssessment = studentAssessmentRepository
                 .findByStudentIdAndAssessmentId(studentId, request.assessmentId())
                 .orElseThrow(() -> new IllegalStateException("Assessment not found"));
@@ -151,17 +187,8 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
         
         examValidationService.validateExamCanBeSubmitted(assessment);
         
-        // Save all answers if provided
-        if (request.answers() != null && !request.answers().isEmpty()) {
-            for (AnswerRequest answerRequest : request.answers()) {
-                // Ensure assessmentId matches
-                AnswerRequest answerWithAssessment = new AnswerRequest(
-                        answerRequest.questionId(),
-                        request.assessmentId(),
-                        answerRequest.answer()
-                );
-                answerService.saveOrUpdateAnswer(answerWithAssessment);
-            }
+        if (saveAnswers) {
+            saveAnswers(request);
         }
         
         if (examValidationService.isExamEnded(assessment)) {
@@ -172,15 +199,49 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
             studentAssessment.setGradingStatus("pending");
         }
         
-        studentAssessment.setScore(request.score());
-        studentAssessment.setTotalScore(request.score());
+        // The client-reported score is ignored, answers are graded on the server
+        studentAssessmentRepository.flush();
+        GradeResult grade = gradingEngine.gradeAttempt(request.assessmentId(), studentAssessment.getAttemptId());
+        studentAssessment.setScore(grade.score());
+        studentAssessment.setTotalScore(grade.score());
         studentAssessment.setDurationInMinute(request.durationInMinute());
         studentAssessment.setSubmittedAt(LocalDateTime.now(UTC_ZONE));
         
         StudentAssessment saved = studentAssessmentRepository.save(studentAssessment);
+        attemptContextCache.invalidate(studentId, request.assessmentId());
         return mapper.toResponse(saved);
     }
     
+    private void saveAnswers(SubmitAnswersRequest request) {
+        if (request.answers() == null || request.answers().isEmpty()) {
+            return;
+        }
+        for (AnswerRequest answerRequest : request.answers()) {
+            // Ensure assessmentId matches
+            AnswerRequest answerWithAssessment = new AnswerRequest(
+                    answerRequest.questionId(),
+                    request.assessmentId(),
+                    answerRequest.answer()
+            );
+            answerService.saveOrUpdateAnswer(answerWithAssessment);
+        }
+    }
+    
+    /**
+     * Writes the attempt's buffered answers so grading sees them. The flush commits on a connection of its own,
+     * so it runs before the submit opens its transaction and a request never holds two pooled connections.
+     */
+    private void flushBufferedAnswers(UUID studentId, UUID assessmentId) {
+        if (answerWriteBehindBuffer.isEnabled()) {
+            attemptContextCache.find(studentId, assessmentId)
+                    .ifPresent(attempt -> answerWriteBehindBuffer.flushAttempt(attempt.attemptId()));
+        }
+    }
+    
+    private <T> T inTransaction(TransactionCallback<T> body) {
+        return new TransactionTemplate(transactionManager).execute(body);
+    }
+    
     public List<StudentAssessmentResponse> getMyAssessments() {
         UUID studentId = SecurityUtils.getCurrentUserId();
         
@@ -203,6 +264,15 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
             throw new IllegalStateException("User is not authenticated");
         }
         
+        if (pageRequest.isCursorMode()) {
+            Specification<StudentAssessment> mine = (root, query, cb) -> cb.equal(root.get("studentId"), studentId);
+            var page = keysetPager.page(StudentAssessment.class, "attemptId", mine, pageRequest);
+            var content = page.content().stream()
+                    .map(mapper::toResponse)
+                    .collect(Collectors.toList());
+            return PageResponse.ofCursor(content, pageRequest.getSize(), page.nextCursor(), page.totalElements(),
+                    pageRequest.getCursor().isBlank());
+        }
         var pageable = pageRequest.toPageable();
         var page = studentAssessmentRepository.findByStudentId(studentId, pageable);
         var content = page.getContent().stream()
@@ -237,6 +307,7 @@ public class StudentAssessmentServiceImpl implements IStudentAssessmentService {
         studentAssessment.setStatus(Status.GRADED);
         
         StudentAssessment saved = studentAssessmentRepository.save(studentAssessment);
+        attemptContextCache.invalidate(request.studentId(), request.assessmentId());
         return mapper.toResponse(saved);
     }
     
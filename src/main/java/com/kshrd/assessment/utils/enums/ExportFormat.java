@@ -0,0 +1,33 @@
+package com.kshrd.assessment.utils.enums;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + value + ", expected ndjson or csv");
+        }
+    }
+}
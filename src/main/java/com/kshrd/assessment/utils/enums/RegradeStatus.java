@@ -0,0 +1,8 @@
+package com.kshrd.assessment.utils.enums;
+
+public enum RegradeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
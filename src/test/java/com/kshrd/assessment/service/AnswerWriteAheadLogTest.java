@@ -0,0 +1,108 @@
+package com.kshrd.assessment.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerWriteAheadLogTest {
+
+    private static final long CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysRecordsAppendedWithoutFlushAfterCrash() throws IOException {
+        Path path = dir.resolve("answer-wal.log");
+        AnswerWriteAheadLog log = new AnswerWriteAheadLog(path, CAPACITY);
+        log.replay();
+        log.append(bytes("first"));
+        log.append(bytes("second"));
+        // Crash: neither force() nor close(), the old mapping is simply abandoned
+
+        AnswerWriteAheadLog reopened = new AnswerWriteAheadLog(path, CAPACITY);
+        assertThat(strings(reopened.replay())).containsExactly("first", "second");
+        reopened.close();
+    }
+
+    @Test
+    void keepsAppendingAfterReplay() throws IOException {
+        Path path = dir.resolve("answer-wal.log");
+        AnswerWriteAheadLog log = new AnswerWriteAheadLog(path, CAPACITY);
+        log.replay();
+        log.append(bytes("first"));
+
+        AnswerWriteAheadLog reopened = new AnswerWriteAheadLog(path, CAPACITY);
+        reopened.replay();
+        reopened.append(bytes("second"));
+
+        AnswerWriteAheadLog again = new AnswerWriteAheadLog(path, CAPACITY);
+        assertThat(strings(again.replay())).containsExactly("first", "second");
+        again.close();
+    }
+
+    @Test
+    void rewriteKeepsOnlyGivenRecordsAndLaterAppends() throws IOException {
+        Path path = dir.resolve("answer-wal.log");
+        AnswerWriteAheadLog log = new AnswerWriteAheadLog(path, CAPACITY);
+        log.replay();
+        log.append(bytes("flushed"));
+        log.append(bytes("pending"));
+        log.rewrite(List.of(bytes("pending")));
+        log.append(bytes("after"));
+
+        AnswerWriteAheadLog reopened = new AnswerWriteAheadLog(path, CAPACITY);
+        assertThat(strings(reopened.replay())).containsExactly("pending", "after");
+        assertThat(dir.resolve("answer-wal.log.compact")).doesNotExist();
+        reopened.close();
+    }
+
+    @Test
+    void ignoresCompactedImageLeftByCrashBeforeRename() throws IOException {
+        Path path = dir.resolve("answer-wal.log");
+        AnswerWriteAheadLog log = new AnswerWriteAheadLog(path, CAPACITY);
+        log.replay();
+        log.append(bytes("acknowledged"));
+        Files.write(dir.resolve("answer-wal.log.compact"), bytes("half-written image"));
+
+        AnswerWriteAheadLog reopened = new AnswerWriteAheadLog(path, CAPACITY);
+        assertThat(strings(reopened.replay())).containsExactly("acknowledged");
+        assertThat(dir.resolve("answer-wal.log.compact")).doesNotExist();
+        reopened.close();
+    }
+
+    @Test
+    void dropsTornRecordButKeepsEarlierOnes() throws IOException {
+        Path path = dir.resolve("answer-wal.log");
+        AnswerWriteAheadLog log = new AnswerWriteAheadLog(path, CAPACITY);
+        log.replay();
+        log.append(bytes("intact"));
+        log.append(bytes("torn"));
+        log.close();
+
+        // Corrupt the last payload byte so its checksum no longer matches
+        byte[] raw = Files.readAllBytes(path);
+        int tornPayloadEnd = (Integer.BYTES * 2 + "intact".length()) + Integer.BYTES * 2 + "torn".length();
+        raw[tornPayloadEnd - 1] ^= 0x7f;
+        Files.write(path, raw);
+
+        AnswerWriteAheadLog reopened = new AnswerWriteAheadLog(path, CAPACITY);
+        assertThat(strings(reopened.replay())).containsExactly("intact");
+        reopened.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<byte[]> records) {
+        return records.stream().map(record -> new String(record, StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.kshrd.assessment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.assessment.repository.AnswerJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AnswerWriteBehindBufferTest {
+
+    private static final int LOG_SIZE_MB = 1;
+    private static final int LOG_BYTES = LOG_SIZE_MB * 1024 * 1024;
+    // Record header (length, crc) plus attempt and question ids, and the JSON around the padding: {"v":"..."}
+    private static final int RECORD_OVERHEAD = 8 + 32 + 8;
+    private static final int MARKER_RECORD_BYTES = 8 + 16;
+
+    @TempDir
+    Path dir;
+
+    private Path logPath;
+    private AnswerWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void openBuffer() throws IOException {
+        logPath = dir.resolve("answer-wal.log");
+        buffer = new AnswerWriteBehindBuffer(mock(AnswerJdbcRepository.class), mock(PlatformTransactionManager.class),
+                new ObjectMapper(), true, 10_000, "never", logPath.toString(), LOG_SIZE_MB);
+        buffer.openLog();
+    }
+
+    @AfterEach
+    void closeBuffer() throws IOException {
+        buffer.closeLog();
+    }
+
+    @Test
+    void failedCompactionDuringFlushReleasesEveryAttemptOnce() throws Exception {
+        UUID first = new UUID(0, 1);
+        UUID second = new UUID(0, 2);
+        // Leave room for exactly one flushed marker, so the second marker has to compact the log
+        int free = MARKER_RECORD_BYTES + 16;
+        int firstPadding = LOG_BYTES / 2;
+        int secondPadding = LOG_BYTES - 2 * RECORD_OVERHEAD - firstPadding - free;
+        buffer.save(first, UUID.randomUUID(), padded(firstPadding));
+        buffer.save(second, UUID.randomUUID(), padded(secondPadding));
+
+        // A non-empty directory where the compacted image goes makes the rewrite fail
+        Path blocker = Files.createDirectories(dir.resolve("answer-wal.log.compact"));
+        Files.createFile(blocker.resolve("busy"));
+
+        assertThatThrownBy(() -> buffer.flushAttempts(List.of(first, second)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("compact");
+
+        Files.delete(blocker.resolve("busy"));
+        Files.delete(blocker);
+        // Another thread must be able to save and flush both attempts, none of their locks may still be held
+        CompletableFuture.runAsync(() -> {
+            buffer.save(first, UUID.randomUUID(), padded(10));
+            buffer.save(second, UUID.randomUUID(), padded(10));
+            buffer.flushAttempts(List.of(first, second));
+        }).get(5, TimeUnit.SECONDS);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    private static Map<String, Object> padded(int length) {
+        return Map.of("v", "x".repeat(length));
+    }
+}
@@ -0,0 +1,174 @@
+package com.kshrd.assessment.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GradingEngineTest {
+
+    private static final UUID ASSESSMENT_ID = new UUID(1, 0);
+    private static final UUID MCQ_QUESTION = new UUID(0, 1);
+    private static final UUID TRUE_FALSE_QUESTION = new UUID(0, 2);
+    private static final UUID MCQ_WITHOUT_KEY = new UUID(0, 3);
+    private static final UUID TRUE_FALSE_WITHOUT_KEY = new UUID(0, 4);
+    private static final UUID LONG_ANSWER_QUESTION = new UUID(0, 5);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final GradingEngine gradingEngine = new GradingEngine(jdbcTemplate, mock(PlatformTransactionManager.class), 10, 30);
+
+    // Answers reach score() as the text of answer->>'selectedOption' and answer->>'value', so a JSON number 2
+    // and a JSON string "2" both arrive as "2", and a JSON boolean true and a string "true" both as "true".
+
+    @Test
+    void mcqScoresMatchingOptionIndex() {
+        GradingEngine.AnswerKeys keys = compile();
+        int index = keys.indexOf(MCQ_QUESTION);
+
+        assertThat(keys.isAutoGraded(index)).isTrue();
+        assertThat(keys.score(index, "2", null)).isEqualTo(4.0);
+        assertThat(keys.score(index, "2.0", null)).isEqualTo(4.0);
+        assertThat(keys.score(index, "1", null)).isZero();
+    }
+
+    @Test
+    void mcqNeverMatchesFractionOrGarbage() {
+        GradingEngine.AnswerKeys keys = compile();
+        int index = keys.indexOf(MCQ_QUESTION);
+
+        assertThat(keys.score(index, "2.5", null)).isZero();
+        assertThat(keys.score(index, "1.99", null)).isZero();
+        assertThat(keys.score(index, "two", null)).isZero();
+        assertThat(keys.score(index, "NaN", null)).isZero();
+        assertThat(keys.score(index, "Infinity", null)).isZero();
+        assertThat(keys.score(index, "-2", null)).isZero();
+        assertThat(keys.score(index, "", null)).isZero();
+        assertThat(keys.score(index, null, null)).isZero();
+    }
+
+    @Test
+    void mcqReadsSelectedOptionNotValue() {
+        GradingEngine.AnswerKeys keys = compile();
+
+        assertThat(keys.score(keys.indexOf(MCQ_QUESTION), null, "2")).isZero();
+    }
+
+    @Test
+    void trueFalseScoresMatchingBooleanInAnyCase() {
+        GradingEngine.AnswerKeys keys = compile();
+        int index = keys.indexOf(TRUE_FALSE_QUESTION);
+
+        assertThat(keys.isAutoGraded(index)).isTrue();
+        assertThat(keys.score(index, null, "true")).isEqualTo(1.5);
+        assertThat(keys.score(index, null, "TRUE")).isEqualTo(1.5);
+        assertThat(keys.score(index, null, "false")).isZero();
+    }
+
+    @Test
+    void trueFalseNeverMatchesMissingOrGarbageValue() {
+        GradingEngine.AnswerKeys keys = compile();
+        int index = keys.indexOf(TRUE_FALSE_QUESTION);
+
+        assertThat(keys.score(index, null, null)).isZero();
+        assertThat(keys.score(index, null, "yes")).isZero();
+        assertThat(keys.score(index, null, "1")).isZero();
+        assertThat(keys.score(index, "true", null)).isZero();
+    }
+
+    @Test
+    void questionsWithoutCorrectKeyAreNotAutoGraded() {
+        GradingEngine.AnswerKeys keys = compile();
+
+        assertThat(keys.isAutoGraded(keys.indexOf(MCQ_WITHOUT_KEY))).isFalse();
+        assertThat(keys.isAutoGraded(keys.indexOf(TRUE_FALSE_WITHOUT_KEY))).isFalse();
+        assertThat(keys.isAutoGraded(keys.indexOf(LONG_ANSWER_QUESTION))).isFalse();
+        // An unreadable answer must not match the missing key either
+        assertThat(keys.score(keys.indexOf(MCQ_WITHOUT_KEY), "garbage", null)).isZero();
+        assertThat(keys.score(keys.indexOf(TRUE_FALSE_WITHOUT_KEY), null, "maybe")).isZero();
+    }
+
+    @Test
+    void unknownQuestionIsNotFound() {
+        assertThat(compile().indexOf(new UUID(0, 99))).isNegative();
+    }
+
+    /**
+     * Rough scoring throughput for a 100-question exam; a guard against regressions, not a benchmark. The
+     * build has no JMH setup, so this only prints the rate.
+     */
+    @Test
+    void scoresManyAnswersQuickly() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(i % 2 == 0
+                    ? new Object[]{new UUID(2, i), "MCQ", 1.0, String.valueOf(i % 4)}
+                    : new Object[]{new UUID(2, i), "TRUE_FALSE", 1.0, "true"});
+        }
+        GradingEngine.AnswerKeys keys = compile(rows);
+        String[] options = {"0", "1", "2", "3"};
+
+        double total = 0;
+        long started = System.nanoTime();
+        int answers = 2_000_000;
+        for (int i = 0; i < answers; i++) {
+            int index = i % keys.size();
+            total += keys.score(index, options[i & 3], (i & 1) == 0 ? "true" : "false");
+        }
+        long elapsed = System.nanoTime() - started;
+
+        System.out.printf("Scored %d answers in %d ms (%.1f M answers/s)%n",
+                answers, elapsed / 1_000_000, answers / (elapsed / 1e9) / 1e6);
+        assertThat(total).isPositive();
+    }
+
+    private GradingEngine.AnswerKeys compile() {
+        try {
+            return compile(List.of(
+                    new Object[]{MCQ_QUESTION, "MCQ", 4.0, "2"},
+                    new Object[]{TRUE_FALSE_QUESTION, "TRUE_FALSE", 1.5, "true"},
+                    new Object[]{MCQ_WITHOUT_KEY, "MCQ", 2.0, null},
+                    new Object[]{TRUE_FALSE_WITHOUT_KEY, "TRUE_FALSE", 2.0, null},
+                    new Object[]{LONG_ANSWER_QUESTION, "LONG_ANSWER", 10.0, null}
+            ));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compiles keys from rows of question id, question type, points and the text of question_content->>'correct'.
+     */
+    @SuppressWarnings("unchecked")
+    private GradingEngine.AnswerKeys compile(List<Object[]> rows) throws SQLException {
+        List<ResultSet> resultSets = new ArrayList<>();
+        for (Object[] row : rows) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject("question_id", UUID.class)).thenReturn((UUID) row[0]);
+            when(rs.getString("question_type")).thenReturn((String) row[1]);
+            when(rs.getObject("points", Double.class)).thenReturn((Double) row[2]);
+            when(rs.getString("correct")).thenReturn((String) row[3]);
+            resultSets.add(rs);
+        }
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(UUID.class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < resultSets.size(); i++) {
+                mapped.add(mapper.mapRow(resultSets.get(i), i));
+            }
+            return mapped;
+        });
+        return gradingEngine.compile(ASSESSMENT_ID);
+    }
+}
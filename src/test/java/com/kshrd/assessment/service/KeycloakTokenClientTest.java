@@ -0,0 +1,205 @@
+package com.kshrd.assessment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kshrd.assessment.dto.auth.LoginResponse;
+import com.kshrd.assessment.exception.AdmissionRejectedException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakTokenClientTest {
+
+    private static final String REALM = "assessment";
+    private static final int MAX_CONNECTIONS = 16;
+    private static final int LOGINS = 400;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Remote address of every request, one entry per client connection the stub has seen
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch slowLogins = new CountDownLatch(1);
+    private final List<KeycloakTokenClient> clients = new ArrayList<>();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void startTokenEndpoint() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/realms/" + REALM + "/protocol/openid-connect/token", this::token);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void stopTokenEndpoint() {
+        slowLogins.countDown();
+        clients.forEach(KeycloakTokenClient::close);
+        server.stop(0);
+        serverExecutor.close();
+    }
+
+    @Test
+    void passwordGrantReturnsTokens() {
+        KeycloakTokenClient client = client(MAX_CONNECTIONS, 2000);
+        LoginResponse response = client.passwordGrant("student", "secret");
+
+        assertThat(response.accessToken()).isEqualTo("access-student");
+        assertThat(response.refreshToken()).isEqualTo("refresh-student");
+        assertThat(response.tokenType()).isEqualTo("Bearer");
+        assertThat(response.expiresIn()).isEqualTo(300L);
+        assertThat(client.stats().requests()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedGrantCarriesStatusAndOAuthError() {
+        KeycloakTokenClient client = client(MAX_CONNECTIONS, 2000);
+
+        assertThatThrownBy(() -> client.passwordGrant("student", "wrong"))
+                .isInstanceOfSatisfying(KeycloakTokenClient.TokenEndpointException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(401);
+                    assertThat(e.getError()).isEqualTo("invalid_grant");
+                    assertThat(e.getMessage()).isEqualTo("Invalid user credentials");
+                });
+        assertThat(client.stats().failures()).isEqualTo(1);
+    }
+
+    @Test
+    void loginWaitingPastAcquireTimeoutIsRejected() throws Exception {
+        KeycloakTokenClient client = client(1, 50);
+        CompletableFuture<LoginResponse> holder = CompletableFuture.supplyAsync(
+                () -> client.passwordGrant("slow", "secret"), client.executor());
+        while (client.stats().inFlight() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> client.passwordGrant("student", "secret"))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(client.stats().rejected()).isEqualTo(1);
+        assertThat(client.stats().waiting()).isZero();
+
+        slowLogins.countDown();
+        assertThat(holder.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("access-slow");
+        // The rejected login never held the permit, so the next one goes straight through
+        assertThat(client.passwordGrant("student", "secret").accessToken()).isEqualTo("access-student");
+    }
+
+    /**
+     * Login storm against the stub endpoint: one client per login, as login used to build a Keycloak client
+     * per call, against the shared keep-alive client.
+     */
+    @Test
+    void sharedClientReusesConnectionsUnderLoad() throws Exception {
+        long perLoginNanos = storm(() -> {
+            KeycloakTokenClient client = new KeycloakTokenClient(objectMapper, tokenServerUrl(), REALM, "assessment-api",
+                    "client-secret", MAX_CONNECTIONS, 2000, 5000, 2000);
+            try {
+                return client.passwordGrant("student", "secret");
+            } finally {
+                client.close();
+            }
+        });
+        int perLoginConnections = connections.size();
+
+        connections.clear();
+        KeycloakTokenClient shared = client(MAX_CONNECTIONS, 2000);
+        long sharedNanos = storm(() -> shared.passwordGrant("student", "secret"));
+        assertThat(shared.stats().rejected()).isZero();
+        int sharedConnections = connections.size();
+
+        System.out.printf("%d logins: client per login %.0f/s over %d connections, shared client %.0f/s over %d connections%n",
+                LOGINS, throughput(perLoginNanos), perLoginConnections, throughput(sharedNanos), sharedConnections);
+        assertThat(sharedConnections).isLessThanOrEqualTo(MAX_CONNECTIONS);
+        assertThat(perLoginConnections).isGreaterThan(MAX_CONNECTIONS);
+    }
+
+    private long storm(Supplier<LoginResponse> login) throws Exception {
+        ExecutorService students = Executors.newFixedThreadPool(MAX_CONNECTIONS);
+        try {
+            long started = System.nanoTime();
+            List<Future<LoginResponse>> logins = new ArrayList<>();
+            for (int i = 0; i < LOGINS; i++) {
+                logins.add(students.submit(login::get));
+            }
+            for (Future<LoginResponse> result : logins) {
+                assertThat(result.get(30, TimeUnit.SECONDS).accessToken()).isEqualTo("access-student");
+            }
+            return System.nanoTime() - started;
+        } finally {
+            students.shutdownNow();
+        }
+    }
+
+    private static double throughput(long nanos) {
+        return LOGINS / (nanos / 1e9);
+    }
+
+    private KeycloakTokenClient client(int maxConnections, long acquireTimeoutMillis) {
+        KeycloakTokenClient client = new KeycloakTokenClient(objectMapper, tokenServerUrl(), REALM, "assessment-api",
+                "client-secret", maxConnections, 2000, 5000, acquireTimeoutMillis);
+        clients.add(client);
+        return client;
+    }
+
+    private String tokenServerUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        connections.add(exchange.getRemoteAddress().toString());
+        String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String username = field(form, "username");
+        if ("slow".equals(username)) {
+            try {
+                slowLogins.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if ("wrong".equals(field(form, "password"))) {
+            respond(exchange, 401, "{\"error\":\"invalid_grant\",\"error_description\":\"Invalid user credentials\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"access_token\":\"access-" + username + "\",\"refresh_token\":\"refresh-" + username
+                + "\",\"token_type\":\"Bearer\",\"expires_in\":300,\"refresh_expires_in\":1800}");
+    }
+
+    private static String field(String form, String name) {
+        for (String pair : form.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kshrd.assessment.service.serviceImpl;
+
+import com.kshrd.assessment.dto.auth.LoginRequest;
+import com.kshrd.assessment.dto.auth.LoginResponse;
+import com.kshrd.assessment.exception.AdmissionRejectedException;
+import com.kshrd.assessment.service.KeycloakTokenClient;
+import com.kshrd.assessment.service.UserDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeycloakServiceImplTest {
+
+    private static final LoginRequest LOGIN = new LoginRequest("student", "secret");
+
+    private final KeycloakTokenClient tokenClient = mock(KeycloakTokenClient.class);
+    private KeycloakServiceImpl keycloakService;
+
+    @BeforeEach
+    void createService() {
+        // The admin client connects lazily, login only goes through the token client
+        keycloakService = new KeycloakServiceImpl(mock(UserDirectory.class), tokenClient, "http://127.0.0.1:1",
+                "assessment", "assessment-api", "client-secret", 2000, 10000, 300000);
+    }
+
+    @AfterEach
+    void closeService() {
+        keycloakService.shutdown();
+    }
+
+    @Test
+    void returnsTokensOfSuccessfulGrant() {
+        LoginResponse tokens = new LoginResponse("access", "refresh", "Bearer", 300L, 1800L);
+        when(tokenClient.passwordGrant("student", "secret")).thenReturn(tokens);
+
+        assertThat(keycloakService.login(LOGIN)).isSameAs(tokens);
+    }
+
+    @Test
+    void unauthorizedClientAsksToEnableDirectAccessGrants() {
+        rejectWith(400, "unauthorized_client", "Client not allowed for direct access grants");
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessage("Login failed: The client doesn't support password grant. Please enable 'Direct Access Grants' for client 'assessment-api' in Keycloak.")
+                .hasCauseInstanceOf(KeycloakTokenClient.TokenEndpointException.class);
+    }
+
+    @Test
+    void invalidGrantIsReportedAsBadCredentials() {
+        rejectWith(400, "invalid_grant", "Invalid user credentials");
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessage("Login failed: Invalid username or password.");
+    }
+
+    @Test
+    void unauthorizedStatusIsReportedAsBadCredentials() {
+        rejectWith(401, null, null);
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessage("Login failed: Invalid username or password.");
+    }
+
+    @Test
+    void notFoundPointsAtRealmOrClientConfiguration() {
+        rejectWith(404, null, null);
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessage("Login failed: Realm or client not found. Please verify Keycloak configuration.");
+    }
+
+    @Test
+    void otherEndpointErrorsKeepTheirDescription() {
+        rejectWith(500, "server_error", "Unexpected failure");
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessageStartingWith("Login failed: Unexpected failure. ");
+    }
+
+    @Test
+    void unreachableEndpointIsReportedAsLoginFailure() {
+        when(tokenClient.passwordGrant("student", "secret"))
+                .thenThrow(new IllegalStateException("Token endpoint unreachable: Connection refused"));
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN))
+                .hasMessageStartingWith("Login failed: Token endpoint unreachable: Connection refused. ")
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void admissionRejectionPassesThroughForRetryAfter() {
+        AdmissionRejectedException rejected = new AdmissionRejectedException("Too many logins in progress, please retry shortly", 1);
+        when(tokenClient.passwordGrant("student", "secret")).thenThrow(rejected);
+
+        assertThatThrownBy(() -> keycloakService.login(LOGIN)).isSameAs(rejected);
+    }
+
+    private void rejectWith(int status, String error, String description) {
+        when(tokenClient.passwordGrant("student", "secret"))
+                .thenThrow(new KeycloakTokenClient.TokenEndpointException(status, error, description));
+    }
+}